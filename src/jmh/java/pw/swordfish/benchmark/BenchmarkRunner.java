@@ -0,0 +1,42 @@
+package pw.swordfish.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BenchmarkRunner {
+    /**
+     * Runs the benchmarks with JMH. Unless they are overridden the results
+     * are written as JSON to jmh-result.json so that they can be diffed
+     * between releases, and the gc profiler reports the allocation rate.
+     *
+     * @param args the JMH command line, e.g. -f 1 DealerBenchmark.
+     */
+    public static void main(String... args) throws Exception {
+        List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+        if (!arguments.contains("-rf"))
+            arguments.addAll(0, Arrays.asList("-rf", "json"));
+        if (!arguments.contains("-rff"))
+            arguments.addAll(0, Arrays.asList("-rff", "jmh-result.json"));
+        if (!arguments.contains("-prof"))
+            arguments.addAll(0, Arrays.asList("-prof", "gc"));
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[arguments.size()]));
+    }
+}
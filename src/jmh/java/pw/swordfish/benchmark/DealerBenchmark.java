@@ -0,0 +1,72 @@
+package pw.swordfish.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Dealer;
+import pw.swordfish.poker.Strategy;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DealerBenchmark {
+    private static final String[] DENOMINATIONS = {
+            "0.05", "0.10", "0.25", "0.50", "1.00", "2.00", "5.00", "25.00", "100.00"
+    };
+
+    @Param({"KNAPSACK", "MEMOIZED", "BRANCH_AND_BOUND", "PARALLEL"})
+    public Strategy strategy;
+
+    /**
+     * The number of chips of each denomination in the case.
+     */
+    @Param({"100", "1000"})
+    public int quantity;
+
+    @Param({"10.00", "50.00", "500.00"})
+    public String buyIn;
+
+    @Param({"10"})
+    public int people;
+
+    private Dealer dealer;
+    private ChipRoll[] chips;
+    private BigDecimal amount;
+
+    @Setup
+    public void setup() {
+        this.dealer = new Dealer(this.strategy);
+        this.chips = new ChipRoll[DENOMINATIONS.length];
+        for (int i = 0; i < DENOMINATIONS.length; i++)
+            this.chips[i] = new ChipRoll(this.quantity, new BigDecimal(DENOMINATIONS[i]));
+        this.amount = new BigDecimal(this.buyIn);
+    }
+
+    @Benchmark
+    public HashMap<BigDecimal, Integer> maximumEqualChipDistributionForBuyIn() {
+        return this.dealer.maximumEqualChipDistributionForBuyIn(this.chips, this.people, this.amount);
+    }
+}
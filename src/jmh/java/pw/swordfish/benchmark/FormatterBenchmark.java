@@ -0,0 +1,61 @@
+package pw.swordfish.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.swordfish.formatter.ChipFormatter;
+import pw.swordfish.formatter.CurrencyFormatter;
+import pw.swordfish.poker.ChipRoll;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+    @Param({"100/$0.05", "50/$2.00", "10/$1000.00"})
+    public String chip;
+
+    @Param({"0.05", "17.15", "1234567.89"})
+    public String amount;
+
+    private ChipFormatter chipFormatter;
+    private CurrencyFormatter currencyFormatter;
+    private BigDecimal decimal;
+
+    @Setup
+    public void setup() {
+        this.currencyFormatter = new CurrencyFormatter();
+        this.chipFormatter = new ChipFormatter(this.currencyFormatter);
+        this.decimal = new BigDecimal(this.amount);
+    }
+
+    @Benchmark
+    public ChipRoll chipFormatterDeserialize() {
+        return this.chipFormatter.deserialize(this.chip);
+    }
+
+    @Benchmark
+    public String currencyFormatterSerialize() {
+        return this.currencyFormatter.serialize(this.decimal);
+    }
+}
@@ -0,0 +1,62 @@
+package pw.swordfish.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.swordfish.main.InputOptions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionSetBenchmark {
+    /**
+     * Representative input.def contents, one per question.
+     */
+    @Param({"default", "bonusOne", "bonusTwo"})
+    public String input;
+
+    private InputOptions options;
+    private String[] lines;
+
+    @Setup
+    public void setup() {
+        this.options = new InputOptions();
+        if (this.input.equals("bonusOne"))
+            this.lines = new String[]{
+                    "B1", "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00", "10", "$10.00"};
+        else if (this.input.equals("bonusTwo"))
+            this.lines = new String[]{
+                    "B2", "100/Red,100/Blue,100/Green,50/Black,50/White", "10", "$10.00"};
+        else
+            this.lines = new String[]{
+                    "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00", "10", "$10.00"};
+    }
+
+    @Benchmark
+    public boolean tryParse() {
+        // the same order that Program tries the option sets in
+        return this.options.getDefaultSet().tryParse(this.lines) ||
+                this.options.getBonusOneSet().tryParse(this.lines) ||
+                this.options.getBonusTwoSet().tryParse(this.lines);
+    }
+}
@@ -0,0 +1,105 @@
+package pw.swordfish.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.swordfish.formatter.DistributionBinaryFormatter;
+import pw.swordfish.formatter.ProblemBinaryFormatter;
+import pw.swordfish.main.Parser;
+import pw.swordfish.poker.ChipSolver;
+import pw.swordfish.poker.Distribution;
+import pw.swordfish.poker.Problem;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private Parser parser;
+    private ProblemBinaryFormatter problemFormatter;
+    private DistributionBinaryFormatter distributionFormatter;
+    private Problem problem;
+    private Distribution distribution;
+    private String[] problemText;
+    private ByteBuffer problemBytes;
+    private ByteBuffer distributionBytes;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        this.parser = new Parser();
+        this.problemFormatter = new ProblemBinaryFormatter();
+        this.distributionFormatter = new DistributionBinaryFormatter();
+        this.problem = this.parser.parseProblem(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00,25/$5.00,25/$25.00", "10", "$10.00");
+        this.distribution = new ChipSolver().solve(this.problem.getChips(), this.problem.getPeople(),
+                this.problem.getBuyIn()).getDistribution();
+        this.problemText = this.problem.toString().split("\n");
+        this.buffer = ByteBuffer.allocate(1024);
+        this.problemBytes = ByteBuffer.allocate(this.problemFormatter.size(this.problem));
+        this.problemFormatter.write(this.problem, this.problemBytes);
+        this.distributionBytes = ByteBuffer.allocate(this.distributionFormatter.size(this.distribution));
+        this.distributionFormatter.write(this.distribution, this.distributionBytes);
+    }
+
+    @Benchmark
+    public String problemTextEncode() {
+        return this.problem.toString();
+    }
+
+    @Benchmark
+    public Problem problemTextDecode() {
+        return this.parser.parseProblem(this.problemText[0], this.problemText[1], this.problemText[2]);
+    }
+
+    @Benchmark
+    public int problemBinaryEncode() {
+        this.buffer.clear();
+        this.problemFormatter.write(this.problem, this.buffer);
+        return this.buffer.position();
+    }
+
+    @Benchmark
+    public Problem problemBinaryDecode() {
+        this.problemBytes.rewind();
+        return this.problemFormatter.read(this.problemBytes);
+    }
+
+    @Benchmark
+    public String distributionTextEncode() {
+        return this.distribution.toString();
+    }
+
+    @Benchmark
+    public int distributionBinaryEncode() {
+        this.buffer.clear();
+        this.distributionFormatter.write(this.distribution, this.buffer);
+        return this.buffer.position();
+    }
+
+    @Benchmark
+    public Distribution distributionBinaryDecode() {
+        this.distributionBytes.rewind();
+        return this.distributionFormatter.read(this.distributionBytes);
+    }
+}
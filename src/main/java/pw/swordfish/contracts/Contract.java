@@ -18,6 +18,14 @@ package pw.swordfish.contracts;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 public class Contract {
+    /**
+     * True unless the program is run with -Dpw.swordfish.contracts.invariants=false.
+     * The value is a constant so the JIT removes the invariant checks, and any
+     * check guarded by it, when they are turned off.
+     */
+    public static final boolean INVARIANTS =
+            !"false".equalsIgnoreCase(System.getProperty("pw.swordfish.contracts.invariants"));
+
     /**
      * Validates a required contract and throws an illegal argument exception if the predicate is
      * false.
@@ -32,6 +40,125 @@ public class Contract {
         }
     }
 
+    // The overloads below are picked over the varargs one for the common
+    // arguments, so a contract that holds doesn't allocate an array or box
+    // its arguments. The message is only formatted when the contract fails.
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     */
+    public static void requires(boolean predicate, String s) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s));
+        }
+    }
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param value     the number to pass to String.format for the message.
+     */
+    public static void requires(boolean predicate, String s, long value) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s, value));
+        }
+    }
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param first     the first number to pass to String.format for the message.
+     * @param second    the second number to pass to String.format for the message.
+     */
+    public static void requires(boolean predicate, String s, long first, long second) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s, first, second));
+        }
+    }
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param first     the first number to pass to String.format for the message.
+     * @param second    the second number to pass to String.format for the message.
+     * @param third     the third number to pass to String.format for the message.
+     */
+    public static void requires(boolean predicate, String s, long first, long second, long third) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s, first, second, third));
+        }
+    }
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param object    the object to pass to String.format for the message.
+     */
+    public static void requires(boolean predicate, String s, Object object) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s, object));
+        }
+    }
+
+    /**
+     * Validates a required contract and throws an illegal argument exception if the predicate is
+     * false.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param first     the first object to pass to String.format for the message.
+     * @param second    the second object to pass to String.format for the message.
+     */
+    public static void requires(boolean predicate, String s, Object first, Object second) {
+        if (!predicate) {
+            throw new IllegalArgumentException(String.format(s, first, second));
+        }
+    }
+
+    /**
+     * Validates an internal invariant and throws an illegal state exception if the predicate is
+     * false. Unlike requires, invariants are only checked when INVARIANTS is true, they are for
+     * the state of the solver and not for the arguments of a public method.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     */
+    public static void invariant(boolean predicate, String s) {
+        if (INVARIANTS && !predicate) {
+            throw new IllegalStateException(String.format(s));
+        }
+    }
+
+    /**
+     * Validates an internal invariant and throws an illegal state exception if the predicate is
+     * false, only when INVARIANTS is true.
+     *
+     * @param predicate the predicate to use in our evaluation.
+     * @param s         the message to pass to format before the exception.
+     * @param value     the number to pass to String.format for the message.
+     */
+    public static void invariant(boolean predicate, String s, long value) {
+        if (INVARIANTS && !predicate) {
+            throw new IllegalStateException(String.format(s, value));
+        }
+    }
+
     /**
      * Validates a required contract and throws the exception if the predicate is false.
      *
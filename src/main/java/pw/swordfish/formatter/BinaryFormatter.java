@@ -0,0 +1,51 @@
+package pw.swordfish.formatter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public interface BinaryFormatter<T> {
+    /**
+     * Writes the item at the position of the buffer, the position is
+     * advanced past the item.
+     *
+     * @param item   the item to write.
+     * @param output the buffer to write to, with at least size(item) bytes remaining.
+     * @throws java.nio.BufferOverflowException if the item doesn't fit.
+     */
+    public void write(T item, ByteBuffer output);
+
+    /**
+     * Reads an item from the position of the buffer, the position is
+     * advanced past the item.
+     *
+     * @param input the buffer to read from.
+     * @return the item.
+     * @throws java.nio.BufferUnderflowException if the item is cut off.
+     * @throws IllegalArgumentException          if the bytes aren't an item.
+     */
+    public T read(ByteBuffer input);
+
+    /**
+     * Gets the number of bytes the item is written with.
+     *
+     * @param item the item.
+     * @return the size of the item in bytes.
+     */
+    public int size(T item);
+}
@@ -0,0 +1,46 @@
+package pw.swordfish.formatter;
+
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.poker.ChipColour;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ChipColourFormatter implements Formatter<ChipColour> {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChipColour deserialize(String input) {
+        String[] chip = input.split("/");
+        Contract.requires(chip.length == 2,
+                "Illegal chip colour specification, Expected length: 2, Actual length: %s", chip.length);
+        int quantity = Integer.parseInt(chip[0]);
+        String colour = chip[1].trim();
+        Contract.requires(!colour.isEmpty(), "Illegal chip colour specification: %s, Expected a colour", input);
+
+        return new ChipColour(quantity, colour);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String serialize(ChipColour chipColour) {
+        return chipColour.getQuantity() + "/" + chipColour.getColour();
+    }
+}
@@ -25,8 +25,6 @@ import java.util.Locale;
  */
 public class ChipFormatter implements Formatter<ChipRoll> {
     private CurrencyFormatter currencyFormatter;
-    private static final String errorString = "Illegal chip specification: %1$s\n" +
-            "Expected %2$s: %$3s, Actual %2$s: %3s";
 
     public ChipFormatter() {
         this.currencyFormatter = new CurrencyFormatter(Locale.CANADA);
@@ -42,13 +40,13 @@ public class ChipFormatter implements Formatter<ChipRoll> {
     @Override
     public ChipRoll deserialize(String input) {
         String[] chip = input.split("/");
-        int expected = 2;
-        Contract.requires(chip.length == expected,
-                errorString, input, "length", expected, chip.length);
+        Contract.requires(chip.length == 2,
+                "Illegal chip specification, Expected length: 2, Actual length: %s", chip.length);
         int quantity = Integer.parseInt(chip[0]);
         BigDecimal denomination = currencyFormatter.deserialize(chip[1]);
         Contract.requires(denomination.compareTo(BigDecimal.ZERO) > 0,
-                errorString, input, "denomination", "> $0.00", currencyFormatter.serialize(denomination));
+                "Illegal chip specification: %s, Expected denomination: > $0.00, Actual denomination: %s",
+                input, denomination);
 
         return new ChipRoll(quantity, denomination);
     }
@@ -58,8 +56,8 @@ public class ChipFormatter implements Formatter<ChipRoll> {
      */
     @Override
     public String serialize(ChipRoll chipRoll) {
-        return String.format("$%s - %s", currencyFormatter.serialize(
-                chipRoll.getDenomination()),
-                chipRoll.getQuantity());
+        return new StringBuilder(24).append('$')
+                .append(currencyFormatter.serialize(chipRoll.getDenomination()))
+                .append(" - ").append(chipRoll.getQuantity()).toString();
     }
 }
@@ -0,0 +1,241 @@
+package pw.swordfish.formatter;
+
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Inventory;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ChipScanner {
+    private static final int CENTS_PER_DOLLAR = 100;
+    private long[] cents = new long[8];
+    private int[] quantities = new int[8];
+    private int[] scales = new int[8];
+    private int size;
+
+    /**
+     * Scans a comma-separated list of chips in the form qty/$denomination,
+     * e.g. 100/$0.25,50/$1.00, in a single pass. Accepts exactly the inputs
+     * of the Chips option, the $ is optional and the denomination has at
+     * most two decimal places. The chips of the last scan are replaced, the
+     * arrays are only grown so scanning doesn't allocate once they are large
+     * enough, which means a scanner can't be shared between threads.
+     *
+     * @param input the chips to scan.
+     * @return this scanner, with the chips of the input.
+     * @throws ScanException if the input isn't a list of chips.
+     */
+    public ChipScanner scan(CharSequence input) {
+        Contract.requires(input != null, "Input cannot be null");
+        this.size = 0;
+        int end = input.length();
+        int i = 0;
+        while (true) {
+            int start = i;
+            long quantity = 0;
+            for (; i < end && isDigit(input.charAt(i)); i++) {
+                quantity = quantity * 10 + (input.charAt(i) - '0');
+                if (quantity > Integer.MAX_VALUE)
+                    throw new ScanException("Quantity is too large", input, start);
+            }
+            if (i == start)
+                throw new ScanException("Expected a quantity", input, i);
+            if (i == end || input.charAt(i) != '/')
+                throw new ScanException("Expected '/'", input, i);
+            i++;
+
+            start = i;
+            if (i < end && input.charAt(i) == '$')
+                i++;
+            int digits = i;
+            long dollars = 0;
+            for (; i < end && isDigit(input.charAt(i)); i++) {
+                dollars = dollars * 10 + (input.charAt(i) - '0');
+                if (dollars > Long.MAX_VALUE / CENTS_PER_DOLLAR)
+                    throw new ScanException("Denomination is too large", input, start);
+            }
+            if (i == digits)
+                throw new ScanException("Expected a dollar amount", input, i);
+            int scale = 0;
+            long fraction = 0;
+            if (i < end && input.charAt(i) == '.') {
+                i++;
+                for (; i < end && scale < 2 && isDigit(input.charAt(i)); i++, scale++)
+                    fraction = fraction * 10 + (input.charAt(i) - '0');
+                if (scale == 0)
+                    throw new ScanException("Expected a digit", input, i);
+            }
+            long amount = dollars * CENTS_PER_DOLLAR + (scale == 1 ? fraction * 10 : fraction);
+            if (amount == 0)
+                throw new ScanException("Denomination must be > $0.00", input, start);
+            add((int) quantity, amount, scale);
+
+            if (i == end)
+                return this;
+            if (input.charAt(i) != ',')
+                throw new ScanException("Expected ','", input, i);
+            i++;
+        }
+    }
+
+    /**
+     * Scans a dollar amount such as $10, 10.5 or $0.25, accepting exactly the
+     * inputs of the BuyIn option.
+     *
+     * @param input the dollar amount to scan.
+     * @return the amount in cents.
+     * @throws ScanException if the input isn't a dollar amount.
+     */
+    public static long scanAmount(CharSequence input) {
+        Contract.requires(input != null, "Input cannot be null");
+        int end = input.length();
+        int i = 0;
+        if (i < end && input.charAt(i) == '$')
+            i++;
+        int digits = i;
+        long dollars = 0;
+        for (; i < end && isDigit(input.charAt(i)); i++) {
+            dollars = dollars * 10 + (input.charAt(i) - '0');
+            if (dollars > Long.MAX_VALUE / CENTS_PER_DOLLAR)
+                throw new ScanException("Amount is too large", input, 0);
+        }
+        if (i == digits)
+            throw new ScanException("Expected a dollar amount", input, i);
+        int scale = 0;
+        long fraction = 0;
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            for (; i < end && scale < 2 && isDigit(input.charAt(i)); i++, scale++)
+                fraction = fraction * 10 + (input.charAt(i) - '0');
+            if (scale == 0)
+                throw new ScanException("Expected a digit", input, i);
+        }
+        if (i != end)
+            throw new ScanException("Expected the end of the amount", input, i);
+        return dollars * CENTS_PER_DOLLAR + (scale == 1 ? fraction * 10 : fraction);
+    }
+
+    /**
+     * Scans a count such as the number of players, accepting exactly the
+     * inputs of the Players option.
+     *
+     * @param input the count to scan.
+     * @return the count.
+     * @throws ScanException if the input isn't a count.
+     */
+    public static int scanCount(CharSequence input) {
+        Contract.requires(input != null, "Input cannot be null");
+        int end = input.length();
+        long count = 0;
+        int i = 0;
+        for (; i < end && isDigit(input.charAt(i)); i++) {
+            count = count * 10 + (input.charAt(i) - '0');
+            if (count > Integer.MAX_VALUE)
+                throw new ScanException("Count is too large", input, 0);
+        }
+        if (i == 0)
+            throw new ScanException("Expected a count", input, i);
+        if (i != end)
+            throw new ScanException("Expected a digit", input, i);
+        return (int) count;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Appends a chip, growing the arrays if they are full.
+     */
+    private void add(int quantity, long amount, int scale) {
+        if (this.size == this.cents.length) {
+            int length = 2 * this.size;
+            this.cents = Arrays.copyOf(this.cents, length);
+            this.quantities = Arrays.copyOf(this.quantities, length);
+            this.scales = Arrays.copyOf(this.scales, length);
+        }
+        this.cents[this.size] = amount;
+        this.quantities[this.size] = quantity;
+        this.scales[this.size] = scale;
+        this.size++;
+    }
+
+    /**
+     * Gets the number of chips of the last scan.
+     *
+     * @return the number of chips.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the denomination of the chip at the index, in the order they were written.
+     *
+     * @param i the index of the chip.
+     * @return the denomination in cents.
+     */
+    public long getCents(int i) {
+        Contract.requires(i >= 0 && i < this.size, "Index must be >= 0 and < %s, Actual: %s", this.size, i);
+        return this.cents[i];
+    }
+
+    /**
+     * Gets the quantity of the chip at the index, in the order they were written.
+     *
+     * @param i the index of the chip.
+     * @return the quantity of the chip.
+     */
+    public int getQuantity(int i) {
+        Contract.requires(i >= 0 && i < this.size, "Index must be >= 0 and < %s, Actual: %s", this.size, i);
+        return this.quantities[i];
+    }
+
+    /**
+     * Gets the inventory of the last scan that each person can receive. The
+     * scanned arrays are passed straight to the inventory, so unlike
+     * toChipRolls there is no chip roll or BigDecimal for each chip.
+     *
+     * @param people the number of people to share the chips between.
+     * @return the inventory.
+     */
+    public Inventory toInventory(int people) {
+        return Inventory.of(this.cents, this.quantities, this.scales, this.size, people);
+    }
+
+    /**
+     * Gets the chip rolls of the last scan. The denominations keep the
+     * decimal places they were written with, e.g. $1 stays $1. This creates
+     * a chip roll and a BigDecimal for each chip, so a solve should use
+     * toInventory instead.
+     *
+     * @return the chip rolls.
+     */
+    public ChipRoll[] toChipRolls() {
+        ChipRoll[] result = new ChipRoll[this.size];
+        for (int i = 0; i < this.size; i++) {
+            long unscaled = this.scales[i] == 2 ? this.cents[i] :
+                    this.scales[i] == 1 ? this.cents[i] / 10 : this.cents[i] / CENTS_PER_DOLLAR;
+            result[i] = new ChipRoll(this.quantities[i], BigDecimal.valueOf(unscaled, this.scales[i]));
+        }
+        return result;
+    }
+}
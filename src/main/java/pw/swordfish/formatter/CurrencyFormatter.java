@@ -1,6 +1,12 @@
 package pw.swordfish.formatter;
 
+import pw.swordfish.poker.Money;
+
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.util.Locale;
 
@@ -22,7 +28,13 @@ import java.util.Locale;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 public class CurrencyFormatter implements Formatter<BigDecimal> {
+    // amounts below $100.00 and whole dollar amounts up to $10,000
+    // cover the denominations and the buy ins that are seen in practice
+    private static final int CACHE_SIZE = 10000;
+    private static final String[] CENTS_CACHE = new String[CACHE_SIZE];
+    private static final String[] DOLLARS_CACHE = new String[CACHE_SIZE + 1];
     private final NumberFormat numberFormat;
+    private final boolean plain;
 
     /**
      * Creates a new CurrencyFormatter.
@@ -33,6 +45,7 @@ public class CurrencyFormatter implements Formatter<BigDecimal> {
         // if a number format is injected then just
         // honour it.
         this.numberFormat = numberFormat;
+        this.plain = false;
     }
 
     /**
@@ -41,11 +54,15 @@ public class CurrencyFormatter implements Formatter<BigDecimal> {
      * @param locale the locale to use for the number format.
      */
     public CurrencyFormatter(Locale locale) {
-        this(NumberFormat.getNumberInstance(locale));
+        NumberFormat format = NumberFormat.getNumberInstance(locale);
 
         // We want our currency as $0.00, $0.05, $0.10...
-        this.numberFormat.setMinimumFractionDigits(2);
-        this.numberFormat.setMaximumFractionDigits(2);
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        this.numberFormat = format;
+        // the format never leaves this instance so it can't change
+        // after it has been checked
+        this.plain = isPlain(format);
     }
 
     /**
@@ -71,6 +88,162 @@ public class CurrencyFormatter implements Formatter<BigDecimal> {
      */
     @Override
     public String serialize(BigDecimal item) {
-        return numberFormat.format(item);
+        if (this.plain) {
+            BigDecimal rounded = item.setScale(2, RoundingMode.HALF_EVEN);
+            if (rounded.unscaledValue().bitLength() < 64) {
+                long cents = rounded.unscaledValue().longValue();
+                // the number format keeps the sign of a negative amount that rounds to zero
+                if (cents == 0 && item.signum() < 0)
+                    return "-0.00";
+                return format(cents);
+            }
+        }
+        synchronized (this.numberFormat) {
+            return this.numberFormat.format(item);
+        }
+    }
+
+    /**
+     * Deserializes a dollar amount straight into cents.
+     *
+     * @param input the string to deserialize, e.g. $10.00.
+     * @return the amount of money.
+     */
+    public Money deserializeMoney(String input) {
+        return Money.parse(input);
+    }
+
+    /**
+     * Serializes the amount of money to a string.
+     *
+     * @param item the amount of money to serialize.
+     * @return a string representation of the amount.
+     */
+    public String serialize(Money item) {
+        if (this.plain)
+            return format(item.getCents());
+        synchronized (this.numberFormat) {
+            return this.numberFormat.format(item.toBigDecimal());
+        }
+    }
+
+    /**
+     * Serializes an amount in cents to a string, e.g. 123456 is 1,234.56.
+     * The strings of the common amounts are cached so they are only
+     * created once.
+     *
+     * @param cents the amount in cents.
+     * @return a string representation of the amount.
+     */
+    public String format(long cents) {
+        if (!this.plain) {
+            synchronized (this.numberFormat) {
+                return this.numberFormat.format(Money.toBigDecimal(cents));
+            }
+        }
+        String[] cache;
+        int index;
+        if (cents >= 0 && cents < CACHE_SIZE) {
+            cache = CENTS_CACHE;
+            index = (int) cents;
+        } else if (cents > 0 && cents % 100 == 0 && cents / 100 <= CACHE_SIZE) {
+            cache = DOLLARS_CACHE;
+            index = (int) (cents / 100);
+        } else {
+            return render(cents, new StringBuilder(24)).toString();
+        }
+        // strings are immutable so a race only renders the amount twice
+        String result = cache[index];
+        if (result == null)
+            cache[index] = result = render(cents, new StringBuilder(12)).toString().intern();
+        return result;
+    }
+
+    /**
+     * Writes an amount in cents to the destination without creating a
+     * string for it, e.g. 123456 is written as 1,234.56.
+     *
+     * @param cents the amount in cents.
+     * @param out   the destination of the amount.
+     * @return the destination.
+     */
+    public StringBuilder appendTo(long cents, StringBuilder out) {
+        if (this.plain)
+            return render(cents, out);
+        return out.append(format(cents));
+    }
+
+    /**
+     * Writes an amount in cents to the destination without creating a
+     * string for it, e.g. 123456 is written as 1,234.56.
+     *
+     * @param cents the amount in cents.
+     * @param out   the destination of the amount.
+     * @throws IOException if the destination can't be written to.
+     */
+    public void appendTo(long cents, Appendable out) throws IOException {
+        if (out instanceof StringBuilder)
+            appendTo(cents, (StringBuilder) out);
+        else
+            out.append(format(cents));
+    }
+
+    /**
+     * Writes an amount in cents the way the number format of the Canada
+     * locale does, with a comma between the groups of thousands and two
+     * fraction digits.
+     *
+     * @param cents the amount in cents.
+     * @param out   the destination of the amount.
+     * @return the destination.
+     */
+    private static StringBuilder render(long cents, StringBuilder out) {
+        if (cents < 0)
+            out.append('-');
+        // the digits are taken from the negative amount so that
+        // Long.MIN_VALUE doesn't overflow
+        long negative = cents < 0 ? cents : -cents;
+        int fraction = (int) -(negative % 100);
+        appendGroups(-(negative / 100), out);
+        return out.append('.').append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+
+    /**
+     * Writes the whole dollars with a comma between each group of
+     * three digits.
+     *
+     * @param dollars the whole dollars, Long.MIN_VALUE / 100 at the most.
+     * @param out     the destination of the dollars.
+     */
+    private static void appendGroups(long dollars, StringBuilder out) {
+        if (dollars < 1000) {
+            out.append((int) dollars);
+            return;
+        }
+        appendGroups(dollars / 1000, out);
+        int group = (int) (dollars % 1000);
+        out.append(',').append((char) ('0' + group / 100))
+                .append((char) ('0' + group / 10 % 10)).append((char) ('0' + group % 10));
+    }
+
+    /**
+     * Checks whether a number format writes amounts exactly the way
+     * render does, so that the number format can be skipped.
+     *
+     * @param format the number format to check.
+     * @return true if the number format can be skipped.
+     */
+    private static boolean isPlain(NumberFormat format) {
+        if (!(format instanceof DecimalFormat))
+            return false;
+        DecimalFormat decimal = (DecimalFormat) format;
+        DecimalFormatSymbols symbols = decimal.getDecimalFormatSymbols();
+        return symbols.getZeroDigit() == '0' && symbols.getGroupingSeparator() == ','
+                && symbols.getDecimalSeparator() == '.' && symbols.getMinusSign() == '-'
+                && decimal.isGroupingUsed() && decimal.getGroupingSize() == 3
+                && decimal.getMinimumIntegerDigits() == 1 && decimal.getMaximumIntegerDigits() >= 19
+                && decimal.getRoundingMode() == RoundingMode.HALF_EVEN && decimal.getMultiplier() == 1
+                && decimal.getPositivePrefix().isEmpty() && decimal.getPositiveSuffix().isEmpty()
+                && "-".equals(decimal.getNegativePrefix()) && decimal.getNegativeSuffix().isEmpty();
     }
 }
@@ -0,0 +1,88 @@
+package pw.swordfish.formatter;
+
+import pw.swordfish.poker.Distribution;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class DistributionBinaryFormatter implements BinaryFormatter<Distribution> {
+    /**
+     * Writes the number of denominations and a flag for whether they have
+     * their own scales, then the difference from the previous denomination
+     * in cents and the count of each denomination as varints. The scale of
+     * each denomination follows its count if the flag is set, so the
+     * distribution reads back with the same text.
+     */
+    @Override
+    public void write(Distribution distribution, ByteBuffer output) {
+        boolean scaled = !distribution.hasDefaultScale();
+        Varint.write(output, (long) distribution.size() << 1 | (scaled ? 1 : 0));
+        long previous = 0;
+        for (int i = 0; i < distribution.size(); i++) {
+            // the denominations are ascending so the differences are small and positive
+            Varint.write(output, distribution.getCents(i) - previous);
+            Varint.write(output, distribution.getCount(i));
+            if (scaled)
+                Varint.writeSigned(output, distribution.getScale(i));
+            previous = distribution.getCents(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Distribution read(ByteBuffer input) {
+        long header = Varint.read(input);
+        boolean scaled = (header & 1) != 0;
+        long size = header >>> 1;
+        // every denomination takes at least 2 bytes, so a corrupt size can't allocate much
+        if (size > input.remaining() / 2)
+            throw new BufferUnderflowException();
+        long[] cents = new long[(int) size];
+        int[] counts = new int[cents.length];
+        int[] scales = scaled ? new int[cents.length] : null;
+        long previous = 0;
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = previous += Varint.read(input);
+            counts[i] = Varint.readInt(input);
+            if (scaled)
+                scales[i] = (int) Varint.readSigned(input);
+        }
+        return scaled ? Distribution.of(cents, counts, scales) : Distribution.of(cents, counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(Distribution distribution) {
+        boolean scaled = !distribution.hasDefaultScale();
+        int size = Varint.size((long) distribution.size() << 1);
+        long previous = 0;
+        for (int i = 0; i < distribution.size(); i++) {
+            size += Varint.size(distribution.getCents(i) - previous) + Varint.size(distribution.getCount(i));
+            if (scaled)
+                size += Varint.sizeSigned(distribution.getScale(i));
+            previous = distribution.getCents(i);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,84 @@
+package pw.swordfish.formatter;
+
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Money;
+import pw.swordfish.poker.Problem;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ProblemBinaryFormatter implements BinaryFormatter<Problem> {
+    /**
+     * Writes the number of people, the buy in in cents and the number of
+     * chip rolls, then the denomination in cents, the quantity and the
+     * scale of each chip roll as varints. The scale keeps the decimal places
+     * the denomination was written with, so the problem reads back as the
+     * same input.def.
+     */
+    @Override
+    public void write(Problem problem, ByteBuffer output) {
+        Varint.write(output, problem.getPeople());
+        Varint.write(output, problem.getBuyIn().getCents());
+        Varint.write(output, problem.size());
+        for (int i = 0; i < problem.size(); i++) {
+            ChipRoll chip = problem.getChip(i);
+            Varint.write(output, chip.getCents());
+            Varint.write(output, chip.getQuantity());
+            Varint.writeSigned(output, chip.getDenomination().scale());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Problem read(ByteBuffer input) {
+        int people = Varint.readInt(input);
+        Money buyIn = Money.ofCents(Varint.read(input));
+        int size = Varint.readInt(input);
+        // every chip roll takes at least 3 bytes, so a corrupt size can't allocate much
+        if (size > input.remaining() / 3)
+            throw new BufferUnderflowException();
+        ChipRoll[] chips = new ChipRoll[size];
+        for (int i = 0; i < size; i++) {
+            long cents = Varint.read(input);
+            int quantity = Varint.readInt(input);
+            int scale = (int) Varint.readSigned(input);
+            chips[i] = new ChipRoll(quantity, BigDecimal.valueOf(cents, 2).setScale(scale));
+        }
+        return new Problem(chips, people, buyIn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(Problem problem) {
+        int size = Varint.size(problem.getPeople()) + Varint.size(problem.getBuyIn().getCents()) +
+                Varint.size(problem.size());
+        for (int i = 0; i < problem.size(); i++) {
+            ChipRoll chip = problem.getChip(i);
+            size += Varint.size(chip.getCents()) + Varint.size(chip.getQuantity()) +
+                    Varint.sizeSigned(chip.getDenomination().scale());
+        }
+        return size;
+    }
+}
@@ -0,0 +1,45 @@
+package pw.swordfish.formatter;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ScanException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+    private final int errorOffset;
+
+    /**
+     * Creates a new exception for input that couldn't be scanned.
+     *
+     * @param message     what was expected at the offset.
+     * @param input       the input that was scanned.
+     * @param errorOffset the index of the character that couldn't be scanned,
+     *                    the length of the input if it ended too early.
+     */
+    public ScanException(String message, CharSequence input, int errorOffset) {
+        super(String.format("%s at offset %d: %s", message, errorOffset, input));
+        this.errorOffset = errorOffset;
+    }
+
+    /**
+     * Gets the index of the character that couldn't be scanned.
+     *
+     * @return the index in the input, the length of the input if it ended too early.
+     */
+    public int getErrorOffset() {
+        return this.errorOffset;
+    }
+}
@@ -0,0 +1,120 @@
+package pw.swordfish.formatter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class Varint {
+    private Varint() {
+    }
+
+    /**
+     * Writes an unsigned value 7 bits at a time, lowest bits first, the
+     * high bit of every byte but the last is set. Values below 128 take
+     * a single byte.
+     *
+     * @param output the buffer to write to.
+     * @param value  the value, treated as unsigned.
+     */
+    static void write(ByteBuffer output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.put((byte) value);
+    }
+
+    /**
+     * Writes a signed value, zig-zag encoded so that small negative
+     * values are small too.
+     *
+     * @param output the buffer to write to.
+     * @param value  the signed value.
+     */
+    static void writeSigned(ByteBuffer output, long value) {
+        write(output, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads an unsigned value.
+     *
+     * @param input the buffer to read from.
+     * @return the value.
+     * @throws IllegalArgumentException if the value is longer than 10 bytes.
+     */
+    static long read(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes at " + input.position());
+    }
+
+    /**
+     * Reads an unsigned value that must fit in an int.
+     *
+     * @param input the buffer to read from.
+     * @return the value.
+     * @throws IllegalArgumentException if the value doesn't fit.
+     */
+    static int readInt(ByteBuffer input) {
+        long value = read(input);
+        if (value < 0 || value > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Varint is too large for an int at " + input.position());
+        return (int) value;
+    }
+
+    /**
+     * Reads a zig-zag encoded signed value.
+     *
+     * @param input the buffer to read from.
+     * @return the signed value.
+     */
+    static long readSigned(ByteBuffer input) {
+        long value = read(input);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Gets the number of bytes an unsigned value is written with.
+     *
+     * @param value the value, treated as unsigned.
+     * @return the number of bytes, between 1 and 10.
+     */
+    static int size(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes a signed value is written with.
+     *
+     * @param value the signed value.
+     * @return the number of bytes, between 1 and 10.
+     */
+    static int sizeSigned(long value) {
+        return size((value << 1) ^ (value >> 63));
+    }
+}
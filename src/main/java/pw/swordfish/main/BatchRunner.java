@@ -0,0 +1,374 @@
+package pw.swordfish.main;
+
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.formatter.ChipScanner;
+import pw.swordfish.formatter.ScanException;
+import pw.swordfish.parser.ParseResult;
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.ChipSolver;
+import pw.swordfish.poker.ColourSolution;
+import pw.swordfish.poker.ColourSolver;
+import pw.swordfish.poker.Inventory;
+import pw.swordfish.poker.Money;
+import pw.swordfish.poker.Solution;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BatchRunner {
+    /**
+     * A line that separates two records, as an alternative to a blank line.
+     */
+    public static final String DELIMITER = "---";
+    // the part of the file that is mapped at once, a record that
+    // crosses the end of a window is mapped again from its start
+    private static final int WINDOW = 1 << 26;
+    private int windowSize = WINDOW;
+    private final InputOptions options;
+    private final Parser parser;
+    private final ChipSolver solver;
+    private final ColourSolver colourSolver;
+    private long records;
+    private long solved;
+    private long elapsedNanos;
+    private final ChipScanner scanner = new ChipScanner();
+    private final ByteLine line = new ByteLine();
+    private int[] lineStarts = new int[4];
+    private int[] lineEnds = new int[4];
+
+    /**
+     * Creates a new batch runner that solves with the program's
+     * solvers, which share the program's solution cache.
+     */
+    public BatchRunner() {
+        this(new InputOptions(), new Parser(), Program.getSolver(), Program.getColourSolver());
+    }
+
+    /**
+     * Creates a new batch runner, the options, parser and solvers
+     * are reused for every record.
+     *
+     * @param options      the options to match each record against.
+     * @param parser       the parser for the matched values.
+     * @param solver       the solver to solve each record with.
+     * @param colourSolver the solver for the records of the colour question.
+     */
+    public BatchRunner(InputOptions options, Parser parser, ChipSolver solver, ColourSolver colourSolver) {
+        Contract.requires(options != null, "Options must not be null");
+        Contract.requires(parser != null, "Parser must not be null");
+        Contract.requires(solver != null, "Solver must not be null");
+        Contract.requires(colourSolver != null, "Colour solver must not be null");
+        this.options = options;
+        this.parser = parser;
+        this.solver = solver;
+        this.colourSolver = colourSolver;
+    }
+
+    /**
+     * Reads records separated by blank lines or the delimiter from the input
+     * and writes the result of each record to the output in input order.
+     * Each result starts with a status line, "[n] OK" followed by the
+     * distribution, "[n] NO SOLUTION", "[n] INVALID" if
+     * the record doesn't match any option set or "[n] ERROR message".
+     * The solves aren't timed, every distribution of a batch is the maximum.
+     *
+     * @param input  the records to solve.
+     * @param output where to write the results.
+     * @throws IOException if the input can't be read or the output written.
+     */
+    public void run(BufferedReader input, Appendable output) throws IOException {
+        long start = System.nanoTime();
+        this.records = 0;
+        this.solved = 0;
+
+        ArrayList<String> record = new ArrayList<String>();
+        String line;
+        while ((line = input.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.equals(DELIMITER)) {
+                flush(record, output);
+                continue;
+            }
+            record.add(trimmed);
+        }
+        flush(record, output);
+        this.elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Reads records from a file like run, but the file is memory mapped and
+     * each record is scanned straight from the mapped bytes without reading
+     * it into strings. Only a window of the file is mapped at a time, so
+     * the memory used doesn't depend on the size of the file. The file is
+     * read as ASCII, anything else is never a valid record.
+     *
+     * @param file   the file of records to solve.
+     * @param output where to write the results.
+     * @throws IOException if the file can't be read or the output written.
+     */
+    public void run(File file, Appendable output) throws IOException {
+        Contract.requires(file != null, "File must not be null");
+        long start = System.nanoTime();
+        this.records = 0;
+        this.solved = 0;
+
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            long size = channel.size();
+            // the file offset of the window and of the first line of the record
+            long base = 0;
+            long recordStart = 0;
+            int window = (int) Math.min(size, this.windowSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, window);
+            int lines = 0;
+            int position = 0;
+            while (position < window || base + window < size) {
+                int end = position;
+                while (end < window && buffer.get(end) != '\n' && buffer.get(end) != '\r')
+                    end++;
+                boolean split = end == window || (buffer.get(end) == '\r' && end + 1 == window);
+                if (split && base + window < size) {
+                    // the line (or its \r\n) continues after the window, map the record
+                    // again from its start, with a larger window if it doesn't fit
+                    long next = lines > 0 ? recordStart : base + position;
+                    long length = Math.max(this.windowSize, 2 * (base + window - next));
+                    if (length > Integer.MAX_VALUE)
+                        throw new IOException("Record at offset " + next + " is too long");
+                    int shift = (int) (next - base);
+                    for (int i = 0; i < lines; i++) {
+                        this.lineStarts[i] -= shift;
+                        this.lineEnds[i] -= shift;
+                    }
+                    position -= shift;
+                    base = next;
+                    window = (int) Math.min(size - base, length);
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, window);
+                    continue;
+                }
+
+                int first = position;
+                int last = end;
+                while (first < last && (buffer.get(first) & 0xff) <= ' ')
+                    first++;
+                while (last > first && (buffer.get(last - 1) & 0xff) <= ' ')
+                    last--;
+                // \r\n is a single line break
+                position = end + 1;
+                if (end < window && buffer.get(end) == '\r' && position < window && buffer.get(position) == '\n')
+                    position++;
+
+                this.line.set(buffer, first, last);
+                if (first == last || this.line.contentEquals(DELIMITER)) {
+                    flush(buffer, lines, output);
+                    lines = 0;
+                    continue;
+                }
+                if (lines == 0)
+                    recordStart = base + first;
+                if (lines == this.lineStarts.length) {
+                    this.lineStarts = Arrays.copyOf(this.lineStarts, 2 * lines);
+                    this.lineEnds = Arrays.copyOf(this.lineEnds, 2 * lines);
+                }
+                this.lineStarts[lines] = first;
+                this.lineEnds[lines] = last;
+                lines++;
+            }
+            flush(buffer, lines, output);
+        } finally {
+            input.close();
+        }
+        this.elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Solves the record of the mapped lines if there is one.
+     */
+    private void flush(MappedByteBuffer buffer, int lines, Appendable output) throws IOException {
+        if (lines == 0)
+            return;
+        this.records++;
+        output.append('[').append(Long.toString(this.records)).append("] ");
+        try {
+            Solution solution = scan(buffer, lines);
+            if (solution == null) {
+                // the colour question and anything that doesn't scan take
+                // the slow path so that the status and errors are the same
+                String[] record = new String[lines];
+                for (int i = 0; i < lines; i++)
+                    record[i] = line(buffer, i).toString();
+                output.append(solve(record));
+            } else if (!solution.isSolved()) {
+                output.append("NO SOLUTION");
+            } else {
+                this.solved++;
+                output.append("OK\n");
+                solution.getDistribution().appendTo(output);
+            }
+        } catch (RuntimeException e) {
+            output.append("ERROR ").append(String.valueOf(e.getMessage()));
+        }
+        output.append("\n\n");
+    }
+
+    /**
+     * Scans and solves a record of the default or first bonus question
+     * straight from the mapped lines.
+     *
+     * @return the solution, or null if the record isn't one of those
+     *         questions or doesn't scan.
+     */
+    private Solution scan(MappedByteBuffer buffer, int lines) {
+        boolean bonusOne = lines == 4 && line(buffer, 0).contentEquals("B1");
+        if (lines != 3 && !bonusOne)
+            return null;
+        int first = bonusOne ? 1 : 0;
+        int people;
+        Money buyIn;
+        try {
+            this.scanner.scan(line(buffer, first));
+            people = ChipScanner.scanCount(line(buffer, first + 1));
+            buyIn = Money.ofCents(ChipScanner.scanAmount(line(buffer, first + 2)));
+        } catch (ScanException e) {
+            return null;
+        }
+        return solve(people, buyIn, bonusOne);
+    }
+
+    /**
+     * Solves the default or first bonus question for the chips of the last
+     * scan, which go straight into the inventory without a chip roll for each
+     * chip. The problems that the solver rejects before it builds an inventory
+     * are still solved from the chip rolls so they are rejected the same way.
+     *
+     * @param people            the number of people to give chips to.
+     * @param buyIn             the exact chip total that each person should receive.
+     * @param everyDenomination true for the first bonus question.
+     * @return the solution.
+     */
+    private Solution solve(int people, Money buyIn, boolean everyDenomination) {
+        if (people == 0 || buyIn.getCents() == 0)
+            return this.solver.solve(this.scanner.toChipRolls(), people, buyIn);
+        Inventory inventory = this.scanner.toInventory(people);
+        return everyDenomination
+                ? this.solver.solveWithEveryDenomination(inventory, buyIn)
+                : this.solver.solve(inventory, buyIn);
+    }
+
+    /**
+     * Points the reusable line at a mapped line of the record.
+     */
+    private ByteLine line(MappedByteBuffer buffer, int i) {
+        return this.line.set(buffer, this.lineStarts[i], this.lineEnds[i]);
+    }
+
+    /**
+     * Solves the record if there is one and clears it.
+     */
+    private void flush(ArrayList<String> record, Appendable output) throws IOException {
+        if (record.isEmpty())
+            return;
+        this.records++;
+        output.append('[').append(Long.toString(this.records)).append("] ");
+        try {
+            output.append(solve(record.toArray(new String[record.size()])));
+        } catch (RuntimeException e) {
+            output.append("ERROR ").append(String.valueOf(e.getMessage()));
+        }
+        output.append("\n\n");
+        record.clear();
+    }
+
+    /**
+     * Solves a single record.
+     *
+     * @param lines the lines of the record.
+     * @return the status and result of the record.
+     */
+    private String solve(String[] lines) {
+        Solution solution;
+        ParseResult input = this.options.parse(lines);
+        if (input == null) {
+            return "INVALID";
+        } else if (input.isOf(this.options.getDefaultSet()) || input.isOf(this.options.getBonusOneSet())) {
+            this.scanner.scan(input.getValue(this.options.getChips()));
+            solution = solve(
+                    this.parser.parsePeople(input.getValue(this.options.getPeople())),
+                    this.parser.parseBuyInMoney(input.getValue(this.options.getBuyIn())),
+                    input.isOf(this.options.getBonusOneSet()));
+        } else {
+            ColourSolution colours = this.colourSolver.solve(
+                    this.parser.parseChipColours(input.getValue(this.options.getColours())),
+                    this.parser.parsePeople(input.getValue(this.options.getPeople())),
+                    this.parser.parseBuyInMoney(input.getValue(this.options.getBuyIn())));
+            if (!colours.isSolved())
+                return "NO SOLUTION";
+            this.solved++;
+            return "OK\n" + Program.colourSolutionToString(colours);
+        }
+        if (!solution.isSolved())
+            return "NO SOLUTION";
+        this.solved++;
+        return "OK\n" + solution.getDistribution();
+    }
+
+    /**
+     * Sets the size of the part of a file that is mapped at once.
+     *
+     * @param windowSize the size of the window in bytes.
+     */
+    void setWindowSize(int windowSize) {
+        Contract.requires(windowSize > 0, "Window size must be > 0, Actual: %s", windowSize);
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Gets the number of records read on the last run.
+     *
+     * @return the number of records.
+     */
+    public long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Gets the number of records that had a distribution on the last run.
+     *
+     * @return the number of solved records.
+     */
+    public long getSolved() {
+        return this.solved;
+    }
+
+    /**
+     * Gets the throughput of the last run.
+     *
+     * @return the number of records per second.
+     */
+    public double getRecordsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.records * 1e9 / this.elapsedNanos;
+    }
+}
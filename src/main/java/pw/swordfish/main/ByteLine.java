@@ -0,0 +1,80 @@
+package pw.swordfish.main;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class ByteLine implements CharSequence {
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Points the line at a range of the buffer, one byte is one character
+     * so the range must only be read as ASCII.
+     *
+     * @param buffer the buffer of the line.
+     * @param start  the index of the first byte of the line.
+     * @param end    the index after the last byte of the line.
+     * @return this line.
+     */
+    ByteLine set(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Gets a value indicating whether the line is the text.
+     *
+     * @param text the ASCII text to compare.
+     * @return true if the line has the same characters as the text.
+     */
+    boolean contentEquals(String text) {
+        if (text.length() != length())
+            return false;
+        for (int i = 0; i < text.length(); i++)
+            if (charAt(i) != text.charAt(i))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (this.buffer.get(this.start + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length()];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = charAt(i);
+        return new String(chars);
+    }
+}
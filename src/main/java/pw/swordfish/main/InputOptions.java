@@ -0,0 +1,184 @@
+package pw.swordfish.main;
+
+import pw.swordfish.parser.Option;
+import pw.swordfish.parser.OptionBuilder;
+import pw.swordfish.parser.OptionDispatcher;
+import pw.swordfish.parser.OptionSet;
+import pw.swordfish.parser.ParseResult;
+import pw.swordfish.parser.UsageBuilder;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class InputOptions {
+    private final Option bonusOne;
+    private final Option bonusTwo;
+    private final Option chipsOption;
+    private final Option coloursOption;
+    private final Option peopleOption;
+    private final Option buyInOption;
+    private final OptionSet defaultSet;
+    private final OptionSet bonusOneOptionSet;
+    private final OptionSet bonusTwoOptionSet;
+    private final OptionDispatcher dispatcher;
+
+    /**
+     * Creates the options and option sets that an input.def can match. The
+     * option sets keep the values of the last tryParse, parse doesn't change
+     * them so the same instance can parse input on any number of threads.
+     */
+    public InputOptions() {
+        String onlyNumbers = "[0-9]+";
+        String dollarAmount = "(\\$)?[0-9]+(\\.[0-9]{1,2})?";
+        String csv = "(%1$s,)*(%1$s)";
+        String quantityDenomination = onlyNumbers + "/" + dollarAmount;
+        String quantityColours = onlyNumbers + "/[A-Z][a-z]*";
+        String csvChips = String.format(csv, quantityDenomination);
+        String csvColours = String.format(csv, quantityColours);
+        OptionBuilder builder = new OptionBuilder();
+        this.bonusOne = builder
+                .withDescription(
+                        "Calculates the breakdown if you require " +
+                                "that each person receive at least one\n" +
+                                "chip of each denomination.")
+                .isRequired(false)
+                .createExact("B1");
+        this.bonusTwo = builder
+                .withDescription(
+                        "Based on purely the quantity of each type " +
+                                "(colour) of chip inputted, calculates the\n" +
+                                "optimal denomination to assign to each colour " +
+                                "(from normal currency values) and the quantity\n" +
+                                "of each chip that players should receive to " +
+                                "maximize the number of chips while adding up\n" +
+                                "to the buy-in amount.")
+                .isRequired(false)
+                .createExact("B2");
+        this.chipsOption = builder
+                .withDescription(
+                        "A comma-separated list of chip quantities " +
+                                "and denominations in the form qty/$denomination.")
+                .isRequired(true)
+                .createExact(csvChips, "Chips");
+        this.coloursOption = builder
+                .withDescription("A comma-separated list of chip quantities " +
+                        "and colours in the form qty/Colour.")
+                .isRequired(true)
+                .createExact(csvColours, "ChipColours");
+        this.peopleOption = builder
+                .withDescription("The number of players.")
+                .isRequired(true)
+                .createExact(onlyNumbers, "Players");
+        this.buyInOption = builder
+                .withDescription("The buy in, e.g. $10.00.")
+                .isRequired(true)
+                .createExact(dollarAmount, "BuyIn");
+
+        this.bonusOneOptionSet = new OptionSet(bonusOne, chipsOption, peopleOption, buyInOption);
+        this.bonusTwoOptionSet = new OptionSet(bonusTwo, coloursOption, peopleOption, buyInOption);
+        this.defaultSet = new OptionSet(chipsOption, peopleOption, buyInOption);
+        this.dispatcher = new OptionDispatcher(defaultSet, bonusOneOptionSet, bonusTwoOptionSet);
+    }
+
+    /**
+     * Parses an input.def in a single pass, the lines are only matched
+     * against the option set that their count and first line select.
+     *
+     * @param lines the lines of the input.
+     * @return the values of the matching option set, or null if the input
+     *         doesn't match any of them.
+     */
+    public ParseResult parse(String... lines) {
+        return this.dispatcher.parse(lines);
+    }
+
+    /**
+     * Gets the usage string for the options.
+     *
+     * @param progName the program name.
+     * @return the usage string.
+     */
+    public String getUsage(String progName) {
+        // build the usage string from the options
+        return new UsageBuilder(
+                progName,
+                " < input.def",
+                "Poker ChipRoll Distribution Calculator.")
+                .addString("Where input.def is one of:\n")
+                .addOptionSet(defaultSet)
+                .addString("Or:\n")
+                .addOptionSet(bonusOneOptionSet)
+                .addString("Or:\n")
+                .addOptionSet(bonusTwoOptionSet)
+                .addString("\nTo solve many input.def separated by blank lines or " + BatchRunner.DELIMITER + ":\n")
+                .addString("\tjava -jar " + progName + " --batch < problems.def\n")
+                .addString("Or, memory mapping the file instead of reading stdin:\n")
+                .addString("\tjava -jar " + progName + " --batch problems.def\n")
+                .addString("\nTo solve input.def posted to http://127.0.0.1:port/solve:\n")
+                .addString("\tjava -jar " + progName + " --serve [port]\n")
+                .getUsage();
+    }
+
+    /**
+     * Gets the option set of the default question: chips, players and buy in.
+     */
+    public OptionSet getDefaultSet() {
+        return this.defaultSet;
+    }
+
+    /**
+     * Gets the option set of the first bonus question: B1, chips, players and buy in.
+     */
+    public OptionSet getBonusOneSet() {
+        return this.bonusOneOptionSet;
+    }
+
+    /**
+     * Gets the option set of the second bonus question: B2, chip colours, players and buy in.
+     */
+    public OptionSet getBonusTwoSet() {
+        return this.bonusTwoOptionSet;
+    }
+
+    /**
+     * Gets the comma-separated list of chip quantities and denominations.
+     */
+    public Option getChips() {
+        return this.chipsOption;
+    }
+
+    /**
+     * Gets the comma-separated list of chip quantities and colours.
+     */
+    public Option getColours() {
+        return this.coloursOption;
+    }
+
+    /**
+     * Gets the number of players.
+     */
+    public Option getPeople() {
+        return this.peopleOption;
+    }
+
+    /**
+     * Gets the buy in.
+     */
+    public Option getBuyIn() {
+        return this.buyInOption;
+    }
+}
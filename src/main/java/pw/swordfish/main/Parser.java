@@ -1,8 +1,13 @@
 package pw.swordfish.main;
 
-import pw.swordfish.formatter.ChipFormatter;
+import pw.swordfish.formatter.ChipColourFormatter;
+import pw.swordfish.formatter.ChipScanner;
 import pw.swordfish.formatter.CurrencyFormatter;
+import pw.swordfish.poker.ChipColour;
 import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Inventory;
+import pw.swordfish.poker.Money;
+import pw.swordfish.poker.Problem;
 
 import java.math.BigDecimal;
 import java.util.Locale;
@@ -25,23 +30,55 @@ import java.util.Locale;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 public class Parser {
+    // the buffers of the scanner are reused by every parse on the same thread,
+    // which keeps the parser safe to share between threads and cheap to create
+    private static final ThreadLocal<ChipScanner> SCANNER = new ThreadLocal<ChipScanner>() {
+        @Override
+        protected ChipScanner initialValue() {
+            return new ChipScanner();
+        }
+    };
     CurrencyFormatter currencyFormatter = new CurrencyFormatter(Locale.CANADA);
-    ChipFormatter chipFormatter = new ChipFormatter(currencyFormatter);
+    ChipColourFormatter chipColourFormatter = new ChipColourFormatter();
 
     public ChipRoll[] parseChipRolls(String chipRolls) {
-        String[] chips = chipRolls.split(",");
-        ChipRoll[] result = new ChipRoll[chips.length];
+        return SCANNER.get().scan(chipRolls).toChipRolls();
+    }
+
+    /**
+     * Parses the chip rolls straight into the inventory that each person can
+     * receive, without creating a chip roll for each chip.
+     *
+     * @param chipRolls the chip rolls, e.g. 100/$0.25,50/$1.00.
+     * @param people    the number of people to share the chips between.
+     * @return the inventory.
+     */
+    public Inventory parseInventory(String chipRolls, int people) {
+        return SCANNER.get().scan(chipRolls).toInventory(people);
+    }
+
+    public ChipColour[] parseChipColours(String chipColours) {
+        String[] chips = chipColours.split(",");
+        ChipColour[] result = new ChipColour[chips.length];
         for (int i = 0; i < chips.length; i++) {
-            result[i] = chipFormatter.deserialize(chips[i]);
+            result[i] = chipColourFormatter.deserialize(chips[i]);
         }
         return result;
     }
 
     public int parsePeople(String people) {
-        return Integer.parseInt(people);
+        return ChipScanner.scanCount(people);
     }
 
     public BigDecimal parseBuyIn(String buyIn) {
         return currencyFormatter.deserialize(buyIn);
     }
+
+    public Money parseBuyInMoney(String buyIn) {
+        return Money.ofCents(ChipScanner.scanAmount(buyIn));
+    }
+
+    public Problem parseProblem(String chipRolls, String people, String buyIn) {
+        return new Problem(parseChipRolls(chipRolls), parsePeople(people), parseBuyInMoney(buyIn));
+    }
 }
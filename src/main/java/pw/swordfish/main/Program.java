@@ -1,17 +1,27 @@
 package pw.swordfish.main;
 
-import pw.swordfish.parser.Option;
-import pw.swordfish.parser.OptionBuilder;
-import pw.swordfish.parser.OptionSet;
-import pw.swordfish.parser.UsageBuilder;
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.parser.ParseResult;
+import pw.swordfish.poker.ChipColour;
 import pw.swordfish.poker.ChipRoll;
-import pw.swordfish.poker.Dealer;
+import pw.swordfish.poker.ChipSolver;
+import pw.swordfish.poker.ColourSolution;
+import pw.swordfish.poker.ColourSolver;
+import pw.swordfish.poker.Distribution;
+import pw.swordfish.poker.Money;
+import pw.swordfish.poker.SolutionCache;
+import pw.swordfish.poker.SolverMetrics;
 
+import javax.management.JMException;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is a a source file belonging to the Solium project.
@@ -31,6 +41,16 @@ import java.util.*;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 public class Program {
+    // the same chip sets, players and buy ins are asked about over and over
+    // so the solutions are shared between every question the program answers
+    private static final SolutionCache solutionCache =
+            new SolutionCache(Integer.getInteger("solpoker.cache.capacity", 1024));
+    // the totals of every solve, available through JMX
+    private static final SolverMetrics metrics = new SolverMetrics();
+    // the solver keeps no state between calls so one is shared by every thread
+    private static final ChipSolver solver = new ChipSolver().withCache(solutionCache).withMetrics(metrics);
+    private static final ColourSolver colourSolver = new ColourSolver();
+
     /**
      * Constructs the main program.
      */
@@ -43,69 +63,24 @@ public class Program {
                 .getPath())
                 .getName();
 
-        String onlyNumbers = "[0-9]+";
-        String dollarAmount = "(\\$)?[0-9]+(\\.[0-9]{1,2})?";
-        String csv = "(%1$s,)*(%1$s)";
-        String quantityDenomination = onlyNumbers + "/" + dollarAmount;
-        String quantityColours = String.format(onlyNumbers + "/", "[A-Z][a-z]*");
-        String csvChips = String.format(csv, quantityDenomination);
-        String csvColours = String.format(csv, quantityColours);
-        OptionBuilder builder = new OptionBuilder();
-        Option bonusOne = builder
-                .withDescription(
-                        "Calculates the breakdown if you require " +
-                                "that each person receive at least one\n" +
-                                "chip of each denomination.")
-                .isRequired(false)
-                .createExact("B1");
-        Option bonusTwo = builder
-                .withDescription(
-                        "Based on purely the quantity of each type " +
-                                "(colour) of chip inputted, calculates the\n" +
-                                "optimal denomination to assign to each colour " +
-                                "(from normal currency values) and the quantity\n" +
-                                "of each chip that players should receive to " +
-                                "maximize the number of chips while adding up\n" +
-                                "to the buy-in amount.")
-                .isRequired(false)
-                .createExact("B2");
-        Option chipsOption = builder
-                .withDescription(
-                        "A comma-separated list of chip quantities " +
-                                "and denominations in the form qty/$denomination.")
-                .isRequired(true)
-                .createExact(csvChips, "Chips");
-        Option coloursOption = builder
-                .withDescription("A comma-separated list of chip quantities " +
-                        "and quantity/colours.")
-                .isRequired(true)
-                .createExact(csvColours, "ChipColours");
-        Option peopleOption = builder
-                .withDescription("The number of players.")
-                .isRequired(true)
-                .createExact(onlyNumbers, "Players");
-        Option buyInOption = builder
-                .withDescription("The buy in, e.g. $10.00.")
-                .isRequired(true)
-                .createExact(dollarAmount, "BuyIn");
-
-        OptionSet bonusOneOptionSet = new OptionSet(bonusOne, chipsOption, peopleOption, buyInOption);
-        OptionSet bonusTwoOptionSet = new OptionSet(bonusTwo, coloursOption, peopleOption, buyInOption);
-        OptionSet defaultSet = new OptionSet(chipsOption, peopleOption, buyInOption);
-
-        // build the usage string from the options
-        String usage = new UsageBuilder(
-                progName,
-                " < input.def",
-                "Poker ChipRoll Distribution Calculator.")
-                .addString("Where input.def is one of:\n")
-                .addOptionSet(defaultSet)
-                .addString("Or:\n")
-                .addOptionSet(bonusOneOptionSet)
-                .addString("Or:\n")
-                .addOptionSet(bonusTwoOptionSet)
-                .getUsage();
+        InputOptions options = new InputOptions();
+        String usage = options.getUsage(progName);
+
+        try {
+            metrics.register("default");
+        } catch (JMException e) {
+            System.err.println("Solver metrics aren't available: " + e.getMessage());
+        }
 
+        if (args.length >= 1 && args.length <= 2 && args[0].equals("--batch")) {
+            System.exit(runBatch(args.length == 2 ? new File(args[1]) : null));
+        }
+        if (args.length >= 1 && args.length <= 2 && args[0].equals("--serve")) {
+            // the server keeps the program running until it is killed
+            if (runServer(args.length == 2 ? args[1] : null) != 0)
+                System.exit(-1);
+            return;
+        }
         if (args.length > 0) {
             System.err.println(usage);
             System.exit(-1);
@@ -113,24 +88,37 @@ public class Program {
 
         args = readStdin(usage);
 
+        ParseResult input = options.parse(args);
+        if (input == null) {
+            System.err.println(usage);
+            System.exit(-1);
+        }
+
         // is the input the first question?
-        if (defaultSet.tryParse(args)) {
+        if (input.isOf(options.getDefaultSet())) {
             // print the chips
             System.out.println(pokerChipDistribution(
-                    chipsOption.getValue(),
-                    peopleOption.getValue(),
-                    buyInOption.getValue()
+                    input.getValue(options.getChips()),
+                    input.getValue(options.getPeople()),
+                    input.getValue(options.getBuyIn())
             ));
             // success :)
             System.exit(0);
         }
-        if (bonusOneOptionSet.tryParse(args))
-            System.exit(pokerChipDistributionBonusOne());
-        if (bonusTwoOptionSet.tryParse(args))
-            System.exit(pokerChipDistributionBonusTwo());
-
-        System.err.println(usage);
-        System.exit(-1);
+        if (input.isOf(options.getBonusOneSet())) {
+            System.out.println(pokerChipDistributionBonusOne(
+                    input.getValue(options.getChips()),
+                    input.getValue(options.getPeople()),
+                    input.getValue(options.getBuyIn())
+            ));
+            System.exit(0);
+        }
+        System.out.println(pokerChipDistributionBonusTwo(
+                input.getValue(options.getColours()),
+                input.getValue(options.getPeople()),
+                input.getValue(options.getBuyIn())
+        ));
+        System.exit(0);
     }
 
     /**
@@ -158,53 +146,179 @@ public class Program {
     }
 
     /**
-     * Prints the selected chips.
+     * Gets the solver shared by the program, which uses the program's solution cache.
      *
-     * @param selectedChips the selected chips to print.
+     * @return the solver.
      */
-    private static String hashMapToString(HashMap<BigDecimal, Integer> selectedChips) {
-        SortedSet<Map.Entry<BigDecimal, Integer>> set = new TreeSet<Map.Entry<BigDecimal, Integer>>(
-                new Comparator<Map.Entry<BigDecimal, Integer>>() {
-                    @Override
-                    public int compare(Map.Entry<BigDecimal, Integer> first, Map.Entry<BigDecimal, Integer> second) {
-                        return second.getKey().compareTo(first.getKey());
-                    }
-                });
-        set.addAll(selectedChips.entrySet());
+    public static ChipSolver getSolver() {
+        return solver;
+    }
 
-        StringBuilder result = new StringBuilder();
+    /**
+     * Gets the solver of the colour question shared by the program.
+     *
+     * @return the colour solver.
+     */
+    public static ColourSolver getColourSolver() {
+        return colourSolver;
+    }
 
-        boolean first = true;
-        for (Map.Entry<BigDecimal, Integer> entry : set) {
-            if (first)
-                first = false;
+    /**
+     * Gets the totals of every solve of the program's solver.
+     *
+     * @return the solver metrics.
+     */
+    public static SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the solution cache shared by the program's solver.
+     *
+     * @return the solution cache.
+     */
+    public static SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    /**
+     * Solves every record on stdin, or in the file, and prints the results to stdout.
+     *
+     * @param file the file of records to memory map, or null to read stdin.
+     * @return 0 if successful, another otherwise.
+     */
+    private static int runBatch(File file) {
+        BatchRunner runner = new BatchRunner();
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(System.out));
+        try {
+            if (file == null)
+                runner.run(new BufferedReader(new InputStreamReader(System.in)), writer);
             else
-                result.append("\n");
-            result.append("$")
-                    .append(entry.getKey())
-                    .append(" - ")
-                    .append(entry.getValue());
+                runner.run(file, writer);
+            writer.flush();
+        } catch (IOException io) {
+            io.printStackTrace();
+            return -1;
+        }
+        System.err.println(String.format("Solved %d of %d problems (%.1f problems/s)",
+                runner.getSolved(), runner.getRecords(), runner.getRecordsPerSecond()));
+        System.err.println("Solver " + metrics);
+        return 0;
+    }
+
+    /**
+     * Starts a server on the loopback address that solves input.def
+     * records posted to /solve, the latency of the requests is printed
+     * to stderr when the program is stopped.
+     *
+     * @param port the port to listen on, or null for the default port.
+     * @return 0 if successful, another otherwise.
+     */
+    private static int runServer(String port) {
+        final SolveServer server;
+        try {
+            server = new SolveServer(port == null ? SolveServer.DEFAULT_PORT : Integer.parseInt(port));
+            server.setBudget(Long.getLong("solpoker.server.budget", 0), TimeUnit.MILLISECONDS);
+            server.setMaxBody(Integer.getInteger("solpoker.server.maxBody", SolveServer.DEFAULT_MAX_BODY));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid port: " + port);
+            return -1;
+        } catch (IOException io) {
+            io.printStackTrace();
+            return -1;
         }
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                server.stop(1);
+                System.err.println("Latency " + server.getLatency());
+            }
+        });
+        server.start();
+        System.err.println("Listening on http://127.0.0.1:" + server.getPort() + "/solve");
+        return 0;
+    }
+
+    /**
+     * Poker chip distribution bonus round 1, each person receives
+     * at least one chip of every denomination.
+     *
+     * @return the distribution, or an empty string if there isn't one.
+     */
+    public static String pokerChipDistributionBonusOne(ChipRoll[] chips, int people, Money buyIn) {
+        return solver.solveWithEveryDenomination(chips, people, buyIn).getDistribution().toString();
+    }
+
+    /**
+     * Poker chip distribution bonus round 1, each person receives
+     * at least one chip of every denomination.
+     *
+     * @return the distribution, or an empty string if there isn't one.
+     */
+    public static String pokerChipDistributionBonusOne(String chips, String people, String buyIn) {
+        Parser p = new Parser();
+        return pokerChipDistributionBonusOne(
+                p.parseChipRolls(chips),
+                p.parsePeople(people),
+                p.parseBuyInMoney(buyIn)
+        );
+    }
 
+    /**
+     * Prints the denomination and quantity of each colour.
+     *
+     * @param solution the solution of the colour question.
+     */
+    static String colourSolutionToString(ColourSolution solution) {
+        if (!solution.isSolved())
+            return "";
+        Integer[] order = new Integer[solution.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        final ColourSolution sorted = solution;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                return sorted.getDenomination(second).compareTo(sorted.getDenomination(first));
+            }
+        });
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0)
+                result.append("\n");
+            result.append(solution.getDenomination(order[i]))
+                    .append(" (")
+                    .append(solution.getColour(order[i]))
+                    .append(") - ")
+                    .append(solution.getQuantity(order[i]));
+        }
         return result.toString();
     }
 
     /**
-     * Poker chip distribution bonus round 1.
+     * Poker chip distribution bonus round 2, a denomination is
+     * assigned to each colour.
      *
-     * @return 0 if successful, another otherwise.
+     * @return the distribution, or an empty string if there isn't one.
      */
-    private static int pokerChipDistributionBonusOne() {
-        return -1;
+    public static String pokerChipDistributionBonusTwo(ChipColour[] chips, int people, Money buyIn) {
+        return colourSolutionToString(colourSolver.solve(chips, people, buyIn));
     }
 
     /**
-     * Poker chip distribution bonus round 2.
+     * Poker chip distribution bonus round 2, a denomination is
+     * assigned to each colour.
      *
-     * @return 0 if successful, another otherwise.
+     * @return the distribution, or an empty string if there isn't one.
      */
-    private static int pokerChipDistributionBonusTwo() {
-        return -1;
+    public static String pokerChipDistributionBonusTwo(String chips, String people, String buyIn) {
+        Parser p = new Parser();
+        return pokerChipDistributionBonusTwo(
+                p.parseChipColours(chips),
+                p.parsePeople(people),
+                p.parseBuyInMoney(buyIn)
+        );
     }
 
     /**
@@ -213,8 +327,24 @@ public class Program {
      * @return 0 if successful, another otherwise.
      */
     public static String pokerChipDistribution(ChipRoll[] chips, int people, BigDecimal buyIn) {
-        Dealer dealer = new Dealer();
-        return hashMapToString(dealer.maximumEqualChipDistributionForBuyIn(chips, people, buyIn));
+        Contract.requires(buyIn.compareTo(BigDecimal.ZERO) >= 0, "Buy in must be >= $0.00");
+        Money amount;
+        try {
+            amount = Money.valueOf(buyIn);
+        } catch (ArithmeticException e) {
+            // fractions of a cent can never be made from chips
+            return Distribution.EMPTY.toString();
+        }
+        return pokerChipDistribution(chips, people, amount);
+    }
+
+    /**
+     * Runs the default poker chip distribution question.
+     *
+     * @return the distribution, or an empty string if there isn't one.
+     */
+    public static String pokerChipDistribution(ChipRoll[] chips, int people, Money buyIn) {
+        return solver.solve(chips, people, buyIn).getDistribution().toString();
     }
 
     // TODO: duplicate...
@@ -223,7 +353,7 @@ public class Program {
         return pokerChipDistribution(
                 p.parseChipRolls(chips),
                 p.parsePeople(people),
-                p.parseBuyIn(buyIn)
+                p.parseBuyInMoney(buyIn)
         );
     }
 }
@@ -0,0 +1,360 @@
+package pw.swordfish.main;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.metrics.LatencyHistogram;
+import pw.swordfish.parser.ParseResult;
+import pw.swordfish.poker.ChipSolver;
+import pw.swordfish.poker.ColourSolution;
+import pw.swordfish.poker.ColourSolver;
+import pw.swordfish.poker.Inventory;
+import pw.swordfish.poker.Money;
+import pw.swordfish.poker.Solution;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class SolveServer {
+    /**
+     * The port that the program listens on when no port is given.
+     */
+    public static final int DEFAULT_PORT = 8080;
+    /**
+     * The largest request body in bytes that is read when no maximum is given,
+     * an input.def is far smaller than this.
+     */
+    public static final int DEFAULT_MAX_BODY = 64 * 1024;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ChipSolver solver;
+    private final ColourSolver colourSolver;
+    private final Parser parser = new Parser();
+    // parse doesn't change the options so every request shares them
+    private final InputOptions options = new InputOptions();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    // 0 to always search for the maximum
+    private volatile long budgetNanos;
+    private volatile int maxBody = DEFAULT_MAX_BODY;
+
+    /**
+     * Creates a new server on the loopback address that solves with
+     * the program's solver.
+     *
+     * @param port the port to listen on, or 0 for any free port.
+     * @throws IOException if the port can't be bound.
+     */
+    public SolveServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                Program.getSolver(), Program.getColourSolver());
+    }
+
+    /**
+     * Creates a new server, the server doesn't accept requests until it is started.
+     *
+     * @param address      the address to listen on.
+     * @param solver       the solver to solve each request with.
+     * @param colourSolver the solver for requests of the colour question.
+     * @throws IOException if the address can't be bound.
+     */
+    public SolveServer(InetSocketAddress address, ChipSolver solver, ColourSolver colourSolver) throws IOException {
+        Contract.requires(address != null, "Address must not be null");
+        Contract.requires(solver != null, "Solver must not be null");
+        Contract.requires(colourSolver != null, "Colour solver must not be null");
+        this.solver = solver;
+        this.colourSolver = colourSolver;
+        this.server = HttpServer.create(address, 1024);
+        this.executor = newRequestExecutor();
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/solve", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                solve(exchange);
+            }
+        });
+        this.server.createContext("/stats", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                StringBuilder stats = new StringBuilder(SolveServer.this.latency.toString()).append('\n');
+                if (SolveServer.this.solver.getMetrics() != null)
+                    stats.append("solver ").append(SolveServer.this.solver.getMetrics()).append('\n');
+                respond(exchange, 200, stats.toString());
+            }
+        });
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits for the requests in progress to finish.
+     *
+     * @param delay the maximum number of seconds to wait.
+     */
+    public void stop(int delay) {
+        this.server.stop(delay);
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(delay, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Sets the time that the solve of each input.def and B1 record is allowed
+     * to take, a distribution that isn't proven to be the maximum is returned
+     * with the X-Solve-Proven: false header and the upper bound on its chips
+     * in X-Solve-Upper-Bound. The colour question (B2) isn't timed.
+     *
+     * @param timeout the time each solve is allowed to take, 0 for no limit.
+     * @param unit    the unit of the timeout.
+     */
+    public void setBudget(long timeout, TimeUnit unit) {
+        Contract.requires(timeout >= 0, "Timeout must be >= 0, Actual: %s", timeout);
+        Contract.requires(unit != null, "Unit must not be null");
+        this.budgetNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Gets the time that the solve of each input.def record is allowed to take.
+     *
+     * @return the time in nanoseconds, 0 if there is no limit.
+     */
+    public long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    /**
+     * Sets the largest request body that is read, a larger request is
+     * answered with 413 without reading the rest of it.
+     *
+     * @param bytes the largest body in bytes.
+     */
+    public void setMaxBody(int bytes) {
+        Contract.requires(bytes > 0, "Maximum body must be > 0 bytes, Actual: %s", bytes);
+        this.maxBody = bytes;
+    }
+
+    /**
+     * Gets the largest request body that is read.
+     *
+     * @return the largest body in bytes.
+     */
+    public int getMaxBody() {
+        return this.maxBody;
+    }
+
+    /**
+     * Gets the time taken to answer each request to /solve.
+     *
+     * @return the latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Answers a request to /solve, the body of a POST is the same as an
+     * input.def. The distribution is returned with 200, 422 if there is no
+     * solution, 413 if the body is larger than the maximum and 400 for
+     * anything else.
+     */
+    private void solve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "METHOD NOT ALLOWED\n");
+                return;
+            }
+            String[] lines = readLines(exchange, this.maxBody);
+            if (lines == null) {
+                respond(exchange, 413, "REQUEST TOO LARGE\n");
+                return;
+            }
+            try {
+                Solution solution;
+                ParseResult input = this.options.parse(lines);
+                if (input == null) {
+                    respond(exchange, 400, "INVALID\n");
+                    return;
+                } else if (input.isOf(this.options.getDefaultSet()) || input.isOf(this.options.getBonusOneSet())) {
+                    solution = solve(
+                            input.getValue(this.options.getChips()),
+                            this.parser.parsePeople(input.getValue(this.options.getPeople())),
+                            this.parser.parseBuyInMoney(input.getValue(this.options.getBuyIn())),
+                            input.isOf(this.options.getBonusOneSet()));
+                } else {
+                    ColourSolution colours = this.colourSolver.solve(
+                            this.parser.parseChipColours(input.getValue(this.options.getColours())),
+                            this.parser.parsePeople(input.getValue(this.options.getPeople())),
+                            this.parser.parseBuyInMoney(input.getValue(this.options.getBuyIn())));
+                    if (colours.isSolved())
+                        respond(exchange, 200, Program.colourSolutionToString(colours) + "\n");
+                    else
+                        respond(exchange, 422, "NO SOLUTION\n");
+                    return;
+                }
+                if (!solution.isProven()) {
+                    exchange.getResponseHeaders().set("X-Solve-Proven", "false");
+                    exchange.getResponseHeaders().set("X-Solve-Upper-Bound", Integer.toString(solution.getUpperBound()));
+                }
+                if (solution.isSolved())
+                    respond(exchange, 200, solution.getDistribution() + "\n");
+                else
+                    respond(exchange, 422, "NO SOLUTION\n");
+            } catch (RuntimeException e) {
+                respond(exchange, 400, "ERROR " + e.getMessage() + "\n");
+            }
+        } finally {
+            this.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Solves the default or first bonus question, within the budget if there
+     * is one. The chips are parsed straight into the inventory, the problems
+     * that the solver rejects before it builds an inventory are still solved
+     * from the chip rolls so they are rejected the same way.
+     *
+     * @param chips             the chip rolls, e.g. 100/$0.25,50/$1.00.
+     * @param people            the number of people to give chips to.
+     * @param buyIn             the exact chip total that each person should receive.
+     * @param everyDenomination true for the first bonus question.
+     * @return the solution.
+     */
+    private Solution solve(String chips, int people, Money buyIn, boolean everyDenomination) {
+        if (people == 0 || buyIn.getCents() == 0)
+            return this.solver.solve(this.parser.parseChipRolls(chips), people, buyIn);
+        Inventory inventory = this.parser.parseInventory(chips, people);
+        long budget = this.budgetNanos;
+        if (budget > 0)
+            return everyDenomination
+                    ? this.solver.solveWithEveryDenomination(inventory, buyIn, budget, TimeUnit.NANOSECONDS)
+                    : this.solver.solve(inventory, buyIn, budget, TimeUnit.NANOSECONDS);
+        return everyDenomination
+                ? this.solver.solveWithEveryDenomination(inventory, buyIn)
+                : this.solver.solve(inventory, buyIn);
+    }
+
+    /**
+     * Reads the non-blank lines of the request body.
+     *
+     * @param maxBody the largest body in bytes.
+     * @return the lines, or null if the body is larger than the maximum.
+     */
+    private static String[] readLines(HttpExchange exchange, int maxBody) throws IOException {
+        // the body is counted as it is read instead of trusting the
+        // Content-Length, which a chunked request doesn't have
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        InputStream input = exchange.getRequestBody();
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                if (read > maxBody - body.size())
+                    return null;
+                body.write(buffer, 0, read);
+            }
+        } finally {
+            input.close();
+        }
+
+        ArrayList<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(body.toByteArray()), UTF8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty())
+                    lines.add(trimmed);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * Writes a plain text response and closes the exchange.
+     */
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream output = exchange.getResponseBody();
+        try {
+            output.write(bytes);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Creates the executor that runs each request on its own thread, a virtual
+     * thread when the runtime has them (java 21 and above), otherwise a
+     * pooled daemon thread. The lookup is reflective since the project
+     * still targets java 8.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "solve-server");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+}
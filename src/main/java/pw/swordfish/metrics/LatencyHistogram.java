@@ -0,0 +1,148 @@
+package pw.swordfish.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class LatencyHistogram {
+    // every power of two is split into this many buckets, so a
+    // recorded latency is off by at most 1/16th of its value
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency, the histogram can be recorded to from any number of threads.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        this.counts.incrementAndGet(index(nanos));
+        this.count.incrementAndGet();
+        this.total.addAndGet(nanos);
+        long current;
+        do {
+            current = this.max.get();
+        } while (nanos > current && !this.max.compareAndSet(current, nanos));
+    }
+
+    /**
+     * Gets the number of latencies that were recorded.
+     *
+     * @return the number of latencies.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Gets the largest latency that was recorded.
+     *
+     * @return the largest latency in nanoseconds.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return the mean latency in nanoseconds, or 0 if there are none.
+     */
+    public double getMean() {
+        long count = this.count.get();
+        return count == 0 ? 0 : (double) this.total.get() / count;
+    }
+
+    /**
+     * Gets the latency that the percentage of the recorded latencies are
+     * less than or equal to, rounded up to the end of its bucket.
+     *
+     * @param percentile the percentile between 0 and 100, e.g. 99.
+     * @return the latency in nanoseconds, or 0 if there are none.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, Actual: " + percentile);
+        long count = this.count.get();
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank)
+                return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears every recorded latency.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            this.counts.set(i, 0);
+        this.count.set(0);
+        this.total.set(0);
+        this.max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fus p50=%dus p99=%dus p999=%dus max=%dus",
+                getCount(),
+                getMean() / 1000,
+                TimeUnit.NANOSECONDS.toMicros(getPercentile(50)),
+                TimeUnit.NANOSECONDS.toMicros(getPercentile(99)),
+                TimeUnit.NANOSECONDS.toMicros(getPercentile(99.9)),
+                TimeUnit.NANOSECONDS.toMicros(getMax()));
+    }
+
+    /**
+     * Gets the bucket of the latency, the first buckets hold a single
+     * value and after that each power of two has the same number of buckets.
+     */
+    private static int index(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest latency that falls in the bucket.
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -29,6 +29,7 @@ public class Option {
     Pattern regex;
     private boolean isRequired;
     private String description;
+    private String literal;
     private LinkedList<String> values;
 
     /**
@@ -82,6 +83,60 @@ public class Option {
         return this.description != null;
     }
 
+    /**
+     * Gets the input that this option matches exactly, e.g. B1.
+     * @return the literal or null if the option matches a regular expression.
+     */
+    public String getLiteral() {
+        return this.literal;
+    }
+
+    /**
+     * Sets the input that this option matches exactly.
+     * @param literal the literal, which must be the only value the regex matches.
+     */
+    void setLiteral(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Matches the input argument without changing the values of this option,
+     * so an option can be shared between threads that only use match.
+     * @param input the input argument.
+     * @return the matched value or null if the input doesn't match.
+     */
+    public String match(String input) {
+        Contract.requires(input != null, "Input cannot be null");
+        if (this.literal != null)
+            return isLiteral(input) ? this.literal : null;
+        Matcher matcher = this.regex.matcher(input);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    /**
+     * Compares the input to the literal the way the exact regex of the
+     * literal would match it, without running the regex. Like $ the literal
+     * may be followed by a line terminator at the end of the input.
+     * @param input the input argument.
+     * @return true if the regex of this option matches the input.
+     */
+    private boolean isLiteral(String input) {
+        int length = this.literal.length();
+        if (!input.startsWith(this.literal))
+            return false;
+        switch (input.length() - length) {
+            case 0:
+                return true;
+            case 1:
+                char c = input.charAt(length);
+                return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+            case 2:
+                return input.charAt(length) == '\r' && input.charAt(length + 1) == '\n';
+            default:
+                return false;
+        }
+    }
+
     /**
      * Try to parse the input argument.
      * @param input the input argument.
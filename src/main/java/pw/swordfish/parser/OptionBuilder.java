@@ -62,7 +62,12 @@ public class OptionBuilder {
      * @return the option as specified.
      */
     public Option createExact(String argument) {
-        return createExact(argument, argument);
+        Option o = createExact(argument, argument);
+        // an argument without any special characters only matches itself,
+        // so Option.match compares it with the input instead of running the regex
+        if (argument.matches("[A-Za-z0-9]+"))
+            o.setLiteral(argument);
+        return o;
     }
 
     /**
@@ -0,0 +1,73 @@
+package pw.swordfish.parser;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class OptionDispatcher {
+    private final OptionSet[] optionSets;
+
+    /**
+     * Creates a dispatcher over the option sets. The sets whose first option
+     * is a literal, e.g. B1, are tried first, and they reject any input whose
+     * first line isn't the literal with a string comparison instead of a
+     * regular expression. The other sets are then tried in order. The
+     * dispatcher doesn't change any option so it can be shared between
+     * threads.
+     *
+     * @param optionSets the option sets to dispatch to.
+     */
+    public OptionDispatcher(OptionSet... optionSets) {
+        Contract.requires(optionSets != null, "Option sets cannot be null");
+        for (OptionSet set : optionSets)
+            Contract.requires(set != null && set.length() > 0, "Option set cannot be null or empty");
+        this.optionSets = optionSets.clone();
+    }
+
+    /**
+     * Classifies the input by its number of lines and its first line, and
+     * then matches every line once against the option set it belongs to.
+     *
+     * @param input the input to parse, one line for each option.
+     * @return the values of the options of the matching set, or null if
+     *         no set matches the input.
+     */
+    public ParseResult parse(String... input) {
+        Contract.requires(input != null, "Input string cannot be null");
+        if (input.length == 0)
+            return null;
+
+        for (OptionSet set : this.optionSets) {
+            if (set.length() != input.length)
+                continue;
+            if (set.get(0).getLiteral() == null)
+                continue;
+            ParseResult result = set.parse(input);
+            if (result != null)
+                return result;
+        }
+        for (OptionSet set : this.optionSets) {
+            if (set.length() != input.length || set.get(0).getLiteral() != null)
+                continue;
+            ParseResult result = set.parse(input);
+            if (result != null)
+                return result;
+        }
+        return null;
+    }
+}
@@ -58,6 +58,43 @@ public class OptionSet implements Iterable<Option> {
         return true;
     }
 
+    /**
+     * Parses the input string with this option set without changing the
+     * values of the options, so an option set can be shared between threads
+     * that only use parse.
+     * @param input the input to parse, one line for each option.
+     * @return the values of the options, or null if the input doesn't match.
+     */
+    public ParseResult parse(String... input) {
+        Contract.requires(input != null, "Input string cannot be null");
+        if (input.length != options.size())
+            return null;
+
+        String[] values = new String[input.length];
+        for (int i = 0; i < input.length; i++)
+            if ((values[i] = options.get(i).match(input[i])) == null)
+                return null;
+        return new ParseResult(this, values);
+    }
+
+    /**
+     * Gets the index of the option in this set.
+     * @param option the option to find.
+     * @return the index of the option or -1 if it isn't in this set.
+     */
+    public int indexOf(Option option) {
+        return this.options.indexOf(option);
+    }
+
+    /**
+     * Gets the option at the index.
+     * @param index the index of the option.
+     * @return the option.
+     */
+    public Option get(int index) {
+        return this.options.get(index);
+    }
+
     /**
      * The number of options in this set.
      */
@@ -0,0 +1,77 @@
+package pw.swordfish.parser;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ParseResult {
+    private final OptionSet optionSet;
+    private final String[] values;
+
+    /**
+     * Creates the result of a successful parse.
+     *
+     * @param optionSet the option set that matched the input.
+     * @param values    the value of each option of the set, which is kept.
+     */
+    ParseResult(OptionSet optionSet, String[] values) {
+        this.optionSet = optionSet;
+        this.values = values;
+    }
+
+    /**
+     * Gets the option set that matched the input.
+     *
+     * @return the option set.
+     */
+    public OptionSet getOptionSet() {
+        return this.optionSet;
+    }
+
+    /**
+     * Gets a value indicating whether the input matched the option set.
+     *
+     * @param optionSet the option set to compare.
+     * @return true if the input matched the option set.
+     */
+    public boolean isOf(OptionSet optionSet) {
+        return this.optionSet == optionSet;
+    }
+
+    /**
+     * Gets the value of the option.
+     *
+     * @param option an option of the set that matched.
+     * @return the value of the option.
+     */
+    public String getValue(Option option) {
+        int index = this.optionSet.indexOf(option);
+        Contract.requires(index >= 0, "Option %s isn't in the option set", option.getArgument());
+        return this.values[index];
+    }
+
+    /**
+     * Gets a value indicating whether the option is in the set that matched.
+     *
+     * @param option the option.
+     * @return true if the option has a value.
+     */
+    public boolean hasValue(Option option) {
+        return this.optionSet.indexOf(option) >= 0;
+    }
+}
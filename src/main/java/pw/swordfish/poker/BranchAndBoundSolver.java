@@ -0,0 +1,186 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BranchAndBoundSolver {
+    private static final int NO_SOLUTION = -1;
+    // the clock is only read every this many nodes, it has to be a power of 2
+    private static final int CLOCK_INTERVAL = 1024;
+    private long nodes;
+    private long prunes;
+
+    /**
+     * Gets the number of nodes that were expanded on the last
+     * invocation of solve.
+     *
+     * @return the number of nodes.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the number of branches that were cut off by the bound
+     * on the last invocation of solve.
+     *
+     * @return the number of pruned branches.
+     */
+    public long getPrunes() {
+        return this.prunes;
+    }
+
+    /**
+     * Finds the maximum number of chips that sum exactly to the buy in.
+     * The denominations are searched from the smallest to the largest, trying
+     * the largest quantity of each first, so the first distribution that is
+     * found for any number of chips is the one with the most chips of the
+     * smaller denominations. A branch is cut off as soon as its bound shows
+     * it can't select more chips than the best distribution found so far.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents (in units of the inventory).
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination of the inventory to hand out.
+     */
+    public int[] solve(Inventory inventory, long buyIn) {
+        SolveContext context = new SolveContext();
+        int[] best = solve(inventory, buyIn, context);
+        this.nodes = context.nodes;
+        this.prunes = context.prunes;
+        return best;
+    }
+
+    /**
+     * Finds the maximum number of chips that sum exactly to the buy in, adding
+     * the counters to the context instead of this solver so that the same
+     * solver can be used by concurrent solves. If the context is timed and the
+     * timeout passes, the search stops with the distribution with the most
+     * chips it has found, the context is no longer proven and its upper bound
+     * is the bound of the whole search: the chips taken smallest first.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents (in units of the inventory).
+     * @param context   the state of this solve.
+     * @return null if no distribution was found, otherwise the quantity of
+     *         each denomination of the inventory to hand out.
+     */
+    int[] solve(Inventory inventory, long buyIn, SolveContext context) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(buyIn >= 0, "Buy in must be >= 0, Actual: %s", buyIn);
+        Search search = new Search(inventory, context);
+        search.search(0, buyIn, 0);
+        context.nodes += search.nodes;
+        context.prunes += search.prunes;
+        if (search.expired) {
+            context.proven = false;
+            context.upperBound = search.bound(0, buyIn);
+        }
+        return search.best;
+    }
+
+    /**
+     * The state of a single solve.
+     */
+    private static final class Search {
+        final long[] denominations;
+        final int[] quantities;
+        final int[] selected;
+        final SolveContext context;
+        int[] best;
+        int bestChips = NO_SOLUTION;
+        long nodes;
+        long prunes;
+        boolean expired;
+
+        Search(Inventory inventory, SolveContext context) {
+            this.denominations = inventory.getCents();
+            this.quantities = inventory.getQuantities();
+            this.selected = new int[inventory.size()];
+            this.context = context;
+        }
+
+        /**
+         * Chooses the quantity of the denomination at index and then
+         * searches the larger denominations.
+         *
+         * @param index     the index of the denomination to choose.
+         * @param remaining the remaining buy in.
+         * @param chips     the number of chips selected so far.
+         */
+        void search(int index, long remaining, int chips) {
+            if (remaining == 0) {
+                // a distribution with the same number of chips that
+                // was found earlier has more of the smaller chips
+                if (chips > this.bestChips) {
+                    this.bestChips = chips;
+                    this.best = this.selected.clone();
+                }
+                return;
+            }
+            if (index >= this.denominations.length)
+                return;
+
+            this.nodes++;
+            if ((this.nodes & (CLOCK_INTERVAL - 1)) == 0 && this.context.isExpired())
+                this.expired = true;
+            if (this.expired)
+                return;
+            long denomination = this.denominations[index];
+            // the denominations are sorted so nothing
+            // else can fit in the remaining amount
+            if (remaining < denomination)
+                return;
+            if (chips + bound(index, remaining) <= this.bestChips) {
+                this.prunes++;
+                return;
+            }
+
+            int quantity = (int) Math.min(this.quantities[index], remaining / denomination);
+            for (int i = quantity; i >= 0 && !this.expired; i--) {
+                this.selected[index] = i;
+                search(index + 1, remaining - i * denomination, chips + i);
+            }
+            this.selected[index] = 0;
+        }
+
+        /**
+         * Gets an upper bound on the number of chips from the denominations at
+         * index and above that can sum to the remaining amount. No set of chips
+         * that sums to at most the remaining amount is larger than the one made by
+         * taking the smallest chips first.
+         *
+         * @param index     the index of the first denomination to take chips from.
+         * @param remaining the remaining buy in.
+         * @return the upper bound on the number of chips.
+         */
+        int bound(int index, long remaining) {
+            int chips = 0;
+            for (int i = index; i < this.denominations.length; i++) {
+                long denomination = this.denominations[i];
+                if (remaining < denomination)
+                    break;
+                long quantity = Math.min(this.quantities[i], remaining / denomination);
+                chips += quantity;
+                remaining -= quantity * denomination;
+            }
+            return chips;
+        }
+    }
+}
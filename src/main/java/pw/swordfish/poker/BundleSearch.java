@@ -0,0 +1,217 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class BundleSearch {
+    private static final int NO_SOLUTION = -1;
+    private final Inventory inventory;
+    private final SolveContext context;
+    private final MemoTable memo;
+    // without a memo table the whole tree is searched, so the chips of each
+    // denomination on the current path are kept and the best one is copied
+    private final int[] path;
+    private int pathChips;
+    private int[] best;
+    private int bestChips;
+
+    /**
+     * Creates a new search over the bundles of the inventory, a search
+     * is only used for a single solve so it can't be shared between threads.
+     *
+     * @param inventory the chips available to a single person.
+     * @param context   the state of the solve that the counters are kept in.
+     * @param memoized  true to remember the subproblems in the memo table of the context.
+     */
+    BundleSearch(Inventory inventory, SolveContext context, boolean memoized) {
+        this.inventory = inventory;
+        this.context = context;
+        this.memo = memoized ? context.getMemo() : null;
+        this.path = memoized ? null : new int[inventory.size()];
+    }
+
+    /**
+     * Solves the distribution with a single search over the bundles of the
+     * inventory. Of the distributions with the most chips the one with more
+     * chips of the smallest denomination, then of the next smallest and so on,
+     * is returned. The exhaustive search keeps it as it finds each distribution,
+     * the memoized search reads it back from the memo table afterwards.
+     *
+     * @param buyIn the exact chip total in cents that each person should receive.
+     * @return null if there is no solution, otherwise the quantity of each denomination.
+     */
+    int[] solve(long buyIn) {
+        int chips = maximumEqualChipDistributionForBuyIn(0, buyIn);
+        if (chips == NO_SOLUTION)
+            return null;
+        return memo == null ? best : readBack(buyIn, chips);
+    }
+
+    /**
+     * Walks the denominations from the smallest to the largest taking as many
+     * chips of each as still reaches the maximum. Every subproblem the walk
+     * looks at was searched (and so put in the memo table) on the way to the
+     * maximum, so the walk doesn't search or count anything again.
+     *
+     * @param buyIn the exact chip total in cents that each person should receive.
+     * @param chips the maximum number of chips.
+     * @return the quantity of each denomination.
+     */
+    private int[] readBack(long buyIn, int chips) {
+        int[] solution = new int[inventory.size()];
+        long remaining = buyIn;
+        for (int i = 0; i < inventory.size() && remaining > 0; i++) {
+            long denomination = inventory.getCents(i);
+            int next = inventory.getFirstBundle(i + 1);
+            for (int quantity = inventory.getQuantity(i); quantity >= 0; quantity--) {
+                long rest = remaining - quantity * denomination;
+                if (rest < 0)
+                    continue;
+                int restChips = lookUp(next, rest);
+                if (restChips != NO_SOLUTION && restChips + quantity == chips) {
+                    solution[i] = quantity;
+                    remaining = rest;
+                    chips = restChips;
+                    break;
+                }
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Gets the maximum number of chips of a subproblem from the memo table.
+     *
+     * @param bundle    the start index for bundles.
+     * @param remaining the remaining buy in in cents.
+     * @return the maximum number of chips.
+     */
+    private int lookUp(int bundle, long remaining) {
+        if (remaining == 0)
+            return 0;
+        if (bundle >= inventory.getBundleCount())
+            return NO_SOLUTION;
+        int chips = memo.get(remaining * inventory.getBundleCount() + bundle);
+        if (chips != MemoTable.MISSING)
+            return chips;
+        // the search only stops short of a subproblem when the remaining buy
+        // in is smaller than the denominations that are left
+        Contract.invariant(remaining < inventory.getCents(inventory.getBundleDenomination(bundle)),
+                "Subproblem was not searched, remaining: %s", remaining);
+        return NO_SOLUTION;
+    }
+
+    /**
+     * Keeps the chips on the current path if they are better than the best
+     * distribution found so far.
+     */
+    private void record() {
+        if (best != null && (pathChips < bestChips || (pathChips == bestChips && !moreOfTheSmallest())))
+            return;
+        best = path.clone();
+        bestChips = pathChips;
+    }
+
+    /**
+     * Gets a value indicating whether the current path has more chips of
+     * the smallest denomination where it differs from the best distribution.
+     */
+    private boolean moreOfTheSmallest() {
+        for (int i = 0; i < path.length; i++)
+            if (path[i] != best[i])
+                return path[i] > best[i];
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of chips that exactly equal the specified buy in,
+     * looking the subproblem up in the memo table first if the search is memoized.
+     *
+     * @param bundle    the start index for bundles.
+     * @param remaining the remaining buy in in cents.
+     * @return the maximum number of chips.
+     */
+    private int maximumEqualChipDistributionForBuyIn(int bundle, long remaining) {
+        // base case 0, have we already selected the maximum number
+        // of chips?
+        if (remaining == 0) {
+            if (path != null)
+                record();
+            return 0;
+        }
+
+        // if there are no more chips then there is no solution in
+        // this chain
+        if (bundle >= inventory.getBundleCount())
+            return NO_SOLUTION;
+
+        if (memo == null)
+            return expand(bundle, remaining);
+
+        // bundle < bundleCount so (remaining, bundle) maps to a unique key
+        long key = remaining * inventory.getBundleCount() + bundle;
+        int chips = memo.get(key);
+        if (chips != MemoTable.MISSING) {
+            context.cacheHits++;
+            return chips;
+        }
+        context.cacheMisses++;
+        chips = expand(bundle, remaining);
+        memo.put(key, chips);
+        return chips;
+    }
+
+    /**
+     * Gets the maximum number of chips that exactly equal the specified buy in.
+     * Each bundle of the inventory is either included or skipped, since the
+     * bundles of a denomination are split into powers of two the depth of the
+     * search grows with log(quantity) instead of quantity.
+     *
+     * @param bundle    the start index for bundles.
+     * @param remaining the remaining buy in in cents.
+     * @return the maximum number of chips.
+     */
+    private int expand(int bundle, long remaining) {
+        context.nodes++;
+        // do we have chips remaining that are less than the
+        // remaining amount? (the denominations are sorted)
+        if (remaining < inventory.getCents(inventory.getBundleDenomination(bundle)))
+            return NO_SOLUTION;
+
+        int include = NO_SOLUTION;
+        long value = inventory.getBundleCents(bundle);
+        if (value <= remaining) {
+            int size = inventory.getBundleSize(bundle);
+            if (path != null) {
+                path[inventory.getBundleDenomination(bundle)] += size;
+                pathChips += size;
+            }
+            int add = maximumEqualChipDistributionForBuyIn(bundle + 1, remaining - value);
+            if (path != null) {
+                path[inventory.getBundleDenomination(bundle)] -= size;
+                pathChips -= size;
+            }
+            if (add != NO_SOLUTION)
+                include = add + size;
+        }
+
+        int skip = maximumEqualChipDistributionForBuyIn(bundle + 1, remaining);
+        return Math.max(include, skip);
+    }
+}
@@ -0,0 +1,112 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class BuyInSweep {
+    /**
+     * The number of chips of a buy in that can't be made from the inventory.
+     */
+    public static final int NO_SOLUTION = KnapsackSolver.NO_SOLUTION;
+    private final Inventory inventory;
+    private final long[] denominations;
+    private final long divisor;
+    private final long maximumBuyIn;
+    private final int[] chips;
+    private final int[][] choices;
+
+    /**
+     * Creates a sweep from a filled knapsack table.
+     *
+     * @param inventory     the chips available to a single person.
+     * @param denominations the denominations of the inventory in units of the divisor.
+     * @param divisor       the value of one unit of the table in cents.
+     * @param maximumBuyIn  the largest buy in of the table in cents.
+     * @param chips         the maximum number of chips of each total in units.
+     * @param choices       the choices that were filled with the table.
+     */
+    BuyInSweep(Inventory inventory, long[] denominations, long divisor, long maximumBuyIn,
+               int[] chips, int[][] choices) {
+        this.inventory = inventory;
+        this.denominations = denominations;
+        this.divisor = divisor;
+        this.maximumBuyIn = maximumBuyIn;
+        this.chips = chips;
+        this.choices = choices;
+    }
+
+    /**
+     * Gets the inventory that the sweep was filled for.
+     *
+     * @return the inventory.
+     */
+    public Inventory getInventory() {
+        return this.inventory;
+    }
+
+    /**
+     * Gets the largest buy in that can be queried.
+     *
+     * @return the largest buy in.
+     */
+    public Money getMaximumBuyIn() {
+        return Money.ofCents(this.maximumBuyIn);
+    }
+
+    /**
+     * Gets the maximum number of chips that total exactly to the buy in in O(1).
+     *
+     * @param buyIn the buy in, at most the maximum buy in.
+     * @return the number of chips, or NO_SOLUTION if the buy in can't be made.
+     */
+    public int getChips(Money buyIn) {
+        long cents = buyIn.getCents();
+        Contract.requires(cents >= 0 && cents <= this.maximumBuyIn,
+                "Buy in must be between $0.00 and %s, Actual: %s", getMaximumBuyIn(), buyIn);
+        // every total that can be made is a multiple of the divisor
+        if (cents % this.divisor != 0)
+            return NO_SOLUTION;
+        return this.chips[(int) (cents / this.divisor)];
+    }
+
+    /**
+     * Gets a value indicating whether the buy in can be made from the inventory.
+     *
+     * @param buyIn the buy in, at most the maximum buy in.
+     * @return true if there is a distribution.
+     */
+    public boolean isSolvable(Money buyIn) {
+        return getChips(buyIn) != NO_SOLUTION;
+    }
+
+    /**
+     * Rebuilds the distribution of the buy in from the table in O(denominations),
+     * it is the same distribution that the solver finds for the buy in on its own.
+     *
+     * @param buyIn the buy in, at most the maximum buy in.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution getSolution(Money buyIn) {
+        int[] quantities = null;
+        if (isSolvable(buyIn))
+            quantities = KnapsackSolver.reconstruct(this.denominations, this.choices,
+                    (int) (buyIn.getCents() / this.divisor));
+        return new Solution(this.inventory, quantities, new SolveContext().toStats(quantities));
+    }
+}
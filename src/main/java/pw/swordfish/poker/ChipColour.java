@@ -0,0 +1,79 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ChipColour {
+    private final int quantity;
+    private final String colour;
+
+    /**
+     * Creates a new roll of chips of a colour that doesn't have a denomination yet.
+     *
+     * @param quantity the number of chips of the colour that are available.
+     * @param colour   the colour of the chip, e.g: Red.
+     */
+    public ChipColour(int quantity, String colour) {
+        Contract.requires(quantity >= 0, "Quantity of chips must be >= 0, Actual: %s", quantity);
+        Contract.requires(colour != null && !colour.isEmpty(), "Colour must not be empty");
+        this.quantity = quantity;
+        this.colour = colour;
+    }
+
+    /**
+     * Gets the quantity of chips.
+     *
+     * @return the quantity of chips.
+     */
+    public int getQuantity() {
+        return this.quantity;
+    }
+
+    /**
+     * Gets the colour of the chip, e.g: Red.
+     *
+     * @return the colour of the chip.
+     */
+    public String getColour() {
+        return this.colour;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ChipColour))
+            return false;
+        ChipColour other = (ChipColour) o;
+        return this.quantity == other.quantity && this.colour.equals(other.colour);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 23;
+        hashCode = hashCode * 37 + this.colour.hashCode();
+        hashCode = hashCode * 37 + this.quantity;
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return this.quantity + "/" + this.colour;
+    }
+}
@@ -31,6 +31,7 @@ public final class ChipRoll {
                 }
             };
     private final BigDecimal denomination;
+    private final long cents;
     private final int quantity;
     private BigDecimal total;
 
@@ -43,15 +44,33 @@ public final class ChipRoll {
      */
     public ChipRoll(int quantity, BigDecimal denomination) {
         Contract.requires(denomination.compareTo(BigDecimal.ZERO) >= 0.01, "Denomination of chips must be >= \\$0.01, Actual: \\$%s", denomination);
-        BigDecimal cents = denomination.multiply(BigDecimal.valueOf(100));
-        Contract.requires(
-                cents.compareTo(BigDecimal.valueOf(cents.intValue())) == 0,
-                "Denomination cannot include fraction less than 0.01");
+        long cents;
+        try {
+            cents = Money.toCents(denomination);
+        } catch (ArithmeticException e) {
+            cents = -1;
+        }
+        Contract.requires(cents >= 0, "Denomination cannot include fraction less than 0.01");
 
         Contract.requires(quantity >= 0, "Quantity of chips must be >= 0, Actual: %s", quantity);
         this.denomination = denomination;
+        this.cents = cents;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Creates a new roll of chips with a quantity and denomination.
+     *
+     * @param quantity     the number of chips of the specified denomination
+     *                     that are available.
+     * @param denomination the denomination of the chip.
+     */
+    public ChipRoll(int quantity, Money denomination) {
+        Contract.requires(denomination.getCents() > 0, "Denomination of chips must be >= \\$0.01, Actual: %s", denomination);
+        Contract.requires(quantity >= 0, "Quantity of chips must be >= 0, Actual: %s", quantity);
+        this.denomination = denomination.toBigDecimal();
+        this.cents = denomination.getCents();
         this.quantity = quantity;
-        this.total = denomination.multiply(BigDecimal.valueOf(quantity));
     }
 
     /**
@@ -83,15 +102,35 @@ public final class ChipRoll {
         return this.denomination;
     }
 
+    /**
+     * Gets the denomination of the chip in cents, e.g: 200.
+     *
+     * @return the denomination of the chip in cents.
+     */
+    public long getCents() {
+        return this.cents;
+    }
+
     /**
      * Gets the product of the quantity and denomination.
      *
      * @return the product of the quantity and denomination.
      */
     public BigDecimal getTotal() {
+        if (this.total == null)
+            this.total = this.denomination.multiply(BigDecimal.valueOf(this.quantity));
         return this.total;
     }
 
+    /**
+     * Gets the product of the quantity and denomination in cents.
+     *
+     * @return the product of the quantity and denomination in cents.
+     */
+    public long getTotalCents() {
+        return this.cents * this.quantity;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,609 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ChipSolver {
+    // the inventory of the solutions that are rejected before solving
+    private static final Inventory EMPTY = new Inventory(new ChipRoll[0]);
+    // a timed solve only tries the knapsack when its table has at most this
+    // many cells, which keeps its memory bounded no matter the buy in
+    private static final long TIMED_KNAPSACK_CELLS = 1 << 24;
+    private final Strategy strategy;
+    private final ParallelSolver parallelSolver;
+    private final SolutionCache cache;
+    private final SolverMetrics metrics;
+
+    /**
+     * Creates a new solver that uses the knapsack strategy.
+     */
+    public ChipSolver() {
+        this(Strategy.KNAPSACK);
+    }
+
+    /**
+     * Creates a new solver.
+     *
+     * @param strategy the strategy to use when searching for a distribution.
+     */
+    public ChipSolver(Strategy strategy) {
+        this(strategy, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new solver.
+     *
+     * @param strategy    the strategy to use when searching for a distribution.
+     * @param parallelism the number of threads to search with, only used
+     *                    by the parallel strategy.
+     */
+    public ChipSolver(Strategy strategy, int parallelism) {
+        Contract.requires(strategy != null, "Strategy must not be null");
+        Contract.requires(parallelism > 0, "Parallelism must be > 0, Actual: %s", parallelism);
+        this.strategy = strategy;
+        this.parallelSolver = strategy == Strategy.PARALLEL ? new ParallelSolver(parallelism) : null;
+        this.cache = null;
+        this.metrics = null;
+    }
+
+    private ChipSolver(ChipSolver solver, SolutionCache cache, SolverMetrics metrics) {
+        this.strategy = solver.strategy;
+        this.parallelSolver = solver.parallelSolver;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets a solver with the same strategy (and thread pool) as this
+     * one that checks the cache of solutions before solving.
+     *
+     * @param cache the cache of solutions, or null to always solve.
+     * @return a solver that uses the cache.
+     */
+    public ChipSolver withCache(SolutionCache cache) {
+        return new ChipSolver(this, cache, this.metrics);
+    }
+
+    /**
+     * Gets a solver with the same strategy, thread pool and cache as this
+     * one that adds the statistics of every solve to the metrics.
+     *
+     * @param metrics the metrics to add to, or null to not record solves.
+     * @return a solver that records to the metrics.
+     */
+    public ChipSolver withMetrics(SolverMetrics metrics) {
+        return new ChipSolver(this, this.cache, metrics);
+    }
+
+    /**
+     * Gets the strategy used to search for a distribution.
+     *
+     * @return the strategy used to search for a distribution.
+     */
+    public Strategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * Gets the cache of solutions that is checked before solving.
+     *
+     * @return the cache of solutions or null if there isn't one.
+     */
+    public SolutionCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Gets the metrics that the statistics of every solve are added to.
+     *
+     * @return the metrics or null if there aren't any.
+     */
+    public SolverMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Gets the maximum chip distribution for the number of people
+     * and buy in specified. The solver keeps no state between calls
+     * so the same solver can be used from any number of threads.
+     *
+     * @param chips  the chips to distribute.
+     * @param people the number of people to give chipRolls to.
+     * @param buyIn  the exact chip total that each person should receive.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution solve(ChipRoll[] chips, int people, Money buyIn) {
+        return solve(chips, people, buyIn, new SolveContext());
+    }
+
+    /**
+     * Gets the maximum chip distribution for the number of people
+     * and buy in specified, keeping the counters in the context.
+     *
+     * @param chips   the chips to distribute.
+     * @param people  the number of people to give chipRolls to.
+     * @param buyIn   the exact chip total that each person should receive.
+     * @param context the state of this solve.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    Solution solve(ChipRoll[] chips, int people, Money buyIn, SolveContext context) {
+        Contract.requires(people >= 0, "People must be >= 0");
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        // implicitly the denomination is >= 0.01 and the quantity is >= 0 since a chip cannot
+        // be created with an invalid denomination or quantity so we don't need to check it
+        Contract.requires(chips != null, "ChipRolls must not be null");
+
+        // we know that there are people and the buy in is positive
+        // so if we have no chipRolls then this is impossible
+        if (people == 0 || buyIn.getCents() == 0 || chips.length == 0)
+            return finish(EMPTY, null, context, System.nanoTime());
+
+        // reduce the quantity by people, that way we
+        // can just worry about one person instead of multiple ones
+        return solve(new Inventory(chips, people), buyIn, context);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in.
+     *
+     * @param inventory the chips available to a single person, in cents (not divided).
+     * @param buyIn     the exact chip total that the person should receive.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution solve(Inventory inventory, Money buyIn) {
+        return solve(inventory, buyIn, new SolveContext());
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in, keeping the counters in the context.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total that the person should receive.
+     * @param context   the state of this solve.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    Solution solve(Inventory inventory, Money buyIn, SolveContext context) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(inventory.getUnit() == 1, "Inventory must be in cents, Actual unit: %s", inventory.getUnit());
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        long start = System.nanoTime();
+        return finish(inventory, search(inventory, buyIn, context), context, start);
+    }
+
+    /**
+     * Gets the maximum chip distribution for the number of people and buy in
+     * specified, or the best distribution that can be found in the time given.
+     * Whatever the strategy of the solver, the knapsack is tried first if its
+     * table is small and then the branch and bound search, which is the only
+     * one that has a distribution and a bound at any point. A solution that
+     * ran out of time isn't proven and has the upper bound on the chips of
+     * the maximum.
+     *
+     * @param chips   the chips to distribute.
+     * @param people  the number of people to give chipRolls to.
+     * @param buyIn   the exact chip total that each person should receive.
+     * @param timeout the time the solve is allowed to take.
+     * @param unit    the unit of the timeout.
+     * @return the distribution, which is unsolved if none was found.
+     */
+    public Solution solve(ChipRoll[] chips, int people, Money buyIn, long timeout, TimeUnit unit) {
+        Contract.requires(people >= 0, "People must be >= 0");
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        Contract.requires(chips != null, "ChipRolls must not be null");
+
+        if (people == 0 || buyIn.getCents() == 0 || chips.length == 0)
+            return finish(EMPTY, null, new SolveContext(), System.nanoTime());
+        return solve(new Inventory(chips, people), buyIn, timeout, unit);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in, or the best distribution that can be
+     * found in the time given.
+     *
+     * @param inventory the chips available to a single person, in cents (not divided).
+     * @param buyIn     the exact chip total that the person should receive.
+     * @param timeout   the time the solve is allowed to take.
+     * @param unit      the unit of the timeout.
+     * @return the distribution, which is unsolved if none was found.
+     */
+    public Solution solve(Inventory inventory, Money buyIn, long timeout, TimeUnit unit) {
+        Contract.requires(timeout >= 0, "Timeout must be >= 0, Actual: %s", timeout);
+        Contract.requires(unit != null, "Unit must not be null");
+        SolveContext context = new SolveContext();
+        context.setTimeout(unit.toNanos(timeout));
+        return solve(inventory, buyIn, context);
+    }
+
+    /**
+     * Gets the maximum chip distribution of every buy in up to the maximum
+     * buy in for the number of people specified.
+     *
+     * @param chips        the chips to distribute.
+     * @param people       the number of people to give chipRolls to.
+     * @param maximumBuyIn the largest buy in that will be asked about.
+     * @return the sweep of every buy in.
+     */
+    public BuyInSweep sweep(ChipRoll[] chips, int people, Money maximumBuyIn) {
+        Contract.requires(chips != null, "ChipRolls must not be null");
+        Contract.requires(people > 0, "People must be > 0, Actual: %s", people);
+        return sweep(new Inventory(chips, people), maximumBuyIn);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * for every buy in up to the maximum buy in. The knapsack table is filled
+     * once, whatever the strategy of the solver, and then the number of
+     * chips of any buy in is looked up in O(1) and its distribution is only
+     * rebuilt when it is asked for. A sweep can't be timed, the table has
+     * to be filled completely to answer every buy in, so its time is bounded
+     * by the size of the table instead.
+     *
+     * @param inventory    the chips available to a single person.
+     * @param maximumBuyIn the largest buy in that will be asked about.
+     * @return the sweep of every buy in.
+     */
+    public BuyInSweep sweep(Inventory inventory, Money maximumBuyIn) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(inventory.getUnit() == 1, "Inventory must be in cents, Actual unit: %s", inventory.getUnit());
+        Contract.requires(maximumBuyIn.getCents() >= 0, "Buy in must be >= $0.00");
+
+        // the table only needs a cell for each multiple of the
+        // greatest common divisor of the denominations
+        long divisor = Math.max(1, inventory.getGreatestCommonDivisor());
+        Inventory normalized = inventory.divide(divisor);
+        long units = maximumBuyIn.getCents() / divisor;
+        Contract.requires(units < Integer.MAX_VALUE, "Buy in must be < %s units, Actual: %s", Integer.MAX_VALUE, units);
+
+        long start = System.nanoTime();
+        SolveContext context = new SolveContext();
+        KnapsackSolver solver = new KnapsackSolver();
+        long[] denominations = normalized.getCents();
+        int[][] choices = new int[denominations.length][];
+        int[] chips = solver.fill(denominations, normalized.getQuantities(), (int) units, choices);
+        context.nodes = solver.getCells();
+        context.elapsedNanos = System.nanoTime() - start;
+        if (this.metrics != null)
+            this.metrics.record(context.toStats(null));
+        return new BuyInSweep(inventory, denominations, divisor, maximumBuyIn.getCents(), chips, choices);
+    }
+
+    /**
+     * Gets the maximum chip distribution of the buy in for every number of
+     * people in the range. The quantity each person gets of a denomination
+     * only changes at the breakpoints of quantity / people, so the knapsack
+     * table is only filled again when it changes, and then only for the
+     * denominations below the largest one that changed. The table is always
+     * filled by the knapsack solver, whatever the strategy of the solver, and
+     * like the buy in sweep it can't be timed.
+     *
+     * @param chips         the chips to distribute.
+     * @param minimumPeople the smallest number of people.
+     * @param maximumPeople the largest number of people.
+     * @param buyIn         the exact chip total that each person should receive.
+     * @return the sweep of every number of people.
+     */
+    public PeopleSweep sweepPeople(ChipRoll[] chips, int minimumPeople, int maximumPeople, Money buyIn) {
+        Contract.requires(chips != null, "ChipRolls must not be null");
+        Contract.requires(minimumPeople > 0, "People must be > 0, Actual: %s", minimumPeople);
+        Contract.requires(maximumPeople >= minimumPeople,
+                "Maximum people must be >= %s, Actual: %s", minimumPeople, maximumPeople);
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+
+        // every total is a multiple of the divisor of the smallest number of people,
+        // with more people there are fewer denominations so that still holds
+        Inventory largest = new Inventory(chips, minimumPeople);
+        long divisor = Math.max(1, largest.getGreatestCommonDivisor());
+        long[] denominations = largest.divide(divisor).getCents();
+        long units = buyIn.getCents() / divisor;
+        Contract.requires(units < Integer.MAX_VALUE, "Buy in must be < %s units, Actual: %s", Integer.MAX_VALUE, units);
+        boolean solvable = buyIn.getCents() > 0 && chips.length > 0 && buyIn.getCents() % divisor == 0;
+
+        KnapsackSolver solver = new KnapsackSolver();
+        int[][] choices = new int[denominations.length][];
+        int[][] layers = new int[denominations.length][];
+        int[] table = null;
+        int[] filled = null;
+        int fills = 0;
+        Solution[] solutions = new Solution[maximumPeople - minimumPeople + 1];
+        for (int people = minimumPeople; people <= maximumPeople; people++) {
+            long start = System.nanoTime();
+            SolveContext context = new SolveContext();
+            Inventory inventory = people == minimumPeople ? largest : new Inventory(chips, people);
+            int[] quantities = null;
+            if (solvable) {
+                int[] available = inventory.getQuantities();
+                int changed = denominations.length - 1;
+                if (filled != null)
+                    while (changed >= 0 && available[changed] == filled[changed])
+                        changed--;
+                if (filled == null || changed >= 0) {
+                    table = solver.fill(denominations, available, (int) units, choices, layers, changed);
+                    context.nodes = solver.getCells();
+                    filled = available;
+                    fills++;
+                }
+                if (table[(int) units] != KnapsackSolver.NO_SOLUTION)
+                    quantities = KnapsackSolver.reconstruct(denominations, choices, (int) units);
+            }
+            solutions[people - minimumPeople] = finish(inventory, quantities, context, start);
+        }
+        return new PeopleSweep(minimumPeople, solutions, fills);
+    }
+
+    /**
+     * Gets the solution of the solve that started at the start time, and adds
+     * its statistics to the metrics.
+     *
+     * @param inventory  the chips available to a single person.
+     * @param quantities the quantity of each denomination, or null if there is no solution.
+     * @param context    the state of the solve.
+     * @param start      the value of System.nanoTime() when the solve started.
+     * @return the solution.
+     */
+    private Solution finish(Inventory inventory, int[] quantities, SolveContext context, long start) {
+        context.elapsedNanos = System.nanoTime() - start;
+        Solution solution = context.proven
+                ? new Solution(inventory, quantities, context.toStats(quantities))
+                : new Solution(inventory, quantities, context.toStats(quantities), false, context.upperBound);
+        if (this.metrics != null)
+            this.metrics.record(solution.getStats());
+        return solution;
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in, from the cache if it has been solved.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total that the person should receive.
+     * @param context   the state of this solve.
+     * @return null if there is no solution, otherwise the quantity of each denomination.
+     */
+    private int[] search(Inventory inventory, Money buyIn, SolveContext context) {
+        ProblemSignature signature = null;
+        if (this.cache != null) {
+            signature = new ProblemSignature(inventory, buyIn);
+            int[][] cached = new int[1][];
+            if (this.cache.tryGet(signature, cached)) {
+                context.cached = true;
+                return cached[0];
+            }
+        }
+
+        // every total that can be made from the chips is a multiple of the
+        // greatest common divisor of the denominations, so we can reject the
+        // buy in right away or solve in units of the divisor instead of cents
+        long cents = buyIn.getCents();
+        long divisor = inventory.getGreatestCommonDivisor();
+        if (divisor == 0 ? cents != 0 : cents % divisor != 0)
+            return null;
+        Inventory normalized = divisor > 1 ? inventory.divide(divisor) : inventory;
+        long units = divisor > 1 ? cents / divisor : cents;
+
+        int[] solution;
+        if (context.timed) {
+            solution = anytime(normalized, units, context);
+        } else {
+            switch (this.strategy) {
+                case KNAPSACK:
+                    solution = knapsack(normalized, units, context);
+                    break;
+                case BRANCH_AND_BOUND:
+                    solution = branchAndBound(normalized, units, context);
+                    break;
+                case PARALLEL:
+                    solution = this.parallelSolver.solve(normalized, units, context);
+                    break;
+                default:
+                    solution = new BundleSearch(normalized, context, this.strategy == Strategy.MEMOIZED).solve(units);
+                    break;
+            }
+        }
+
+        // a distribution that doesn't add up is a bug in the solver, not a missing solution
+        if (Contract.INVARIANTS && solution != null)
+            Contract.invariant(verifySolution(inventory, solution, cents),
+                    "Distribution doesn't add up to the buy in, Buy in: %s", cents);
+
+        // a distribution that ran out of time might not be the maximum
+        if (signature != null && context.proven)
+            this.cache.put(signature, solution);
+        return solution;
+    }
+
+    /**
+     * Gets the maximum chip distribution for the number of people and buy in
+     * specified where each person receives at least one chip of every
+     * denomination.
+     *
+     * @param chips  the chips to distribute.
+     * @param people the number of people to give chipRolls to.
+     * @param buyIn  the exact chip total that each person should receive.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution solveWithEveryDenomination(ChipRoll[] chips, int people, Money buyIn) {
+        Contract.requires(people >= 0, "People must be >= 0");
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        Contract.requires(chips != null, "ChipRolls must not be null");
+
+        if (people == 0 || buyIn.getCents() == 0 || chips.length == 0)
+            return finish(EMPTY, null, new SolveContext(), System.nanoTime());
+        return solveWithEveryDenomination(new Inventory(chips, people), buyIn);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in with at least one chip of every
+     * denomination.
+     *
+     * @param inventory the chips available to a single person, in cents (not divided).
+     * @param buyIn     the exact chip total that the person should receive.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution solveWithEveryDenomination(Inventory inventory, Money buyIn) {
+        return solveWithEveryDenomination(inventory, buyIn, new SolveContext());
+    }
+
+    /**
+     * Gets the maximum chip distribution where each person receives at least
+     * one chip of every denomination, or the best distribution that can be
+     * found in the time given, the same way as the timed solve.
+     *
+     * @param chips   the chips to distribute.
+     * @param people  the number of people to give chipRolls to.
+     * @param buyIn   the exact chip total that each person should receive.
+     * @param timeout the time the solve is allowed to take.
+     * @param unit    the unit of the timeout.
+     * @return the distribution, which is unsolved if none was found.
+     */
+    public Solution solveWithEveryDenomination(ChipRoll[] chips, int people, Money buyIn, long timeout, TimeUnit unit) {
+        Contract.requires(people >= 0, "People must be >= 0");
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        Contract.requires(chips != null, "ChipRolls must not be null");
+
+        if (people == 0 || buyIn.getCents() == 0 || chips.length == 0)
+            return finish(EMPTY, null, new SolveContext(), System.nanoTime());
+        return solveWithEveryDenomination(new Inventory(chips, people), buyIn, timeout, unit);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in with at least one chip of every
+     * denomination, or the best distribution that can be found in the time given.
+     *
+     * @param inventory the chips available to a single person, in cents (not divided).
+     * @param buyIn     the exact chip total that the person should receive.
+     * @param timeout   the time the solve is allowed to take.
+     * @param unit      the unit of the timeout.
+     * @return the distribution, which is unsolved if none was found.
+     */
+    public Solution solveWithEveryDenomination(Inventory inventory, Money buyIn, long timeout, TimeUnit unit) {
+        Contract.requires(timeout >= 0, "Timeout must be >= 0, Actual: %s", timeout);
+        Contract.requires(unit != null, "Unit must not be null");
+        SolveContext context = new SolveContext();
+        context.setTimeout(unit.toNanos(timeout));
+        return solveWithEveryDenomination(inventory, buyIn, context);
+    }
+
+    /**
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in with at least one chip of every
+     * denomination, keeping the counters in the context.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total that the person should receive.
+     * @param context   the state of this solve.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    Solution solveWithEveryDenomination(Inventory inventory, Money buyIn, SolveContext context) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(inventory.getUnit() == 1, "Inventory must be in cents, Actual unit: %s", inventory.getUnit());
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        long start = System.nanoTime();
+
+        // one of each denomination is handed out before solving, so we
+        // need a chip of every denomination for each person and the buy
+        // in must be able to pay for them
+        if (inventory.size() == 0 || inventory.getMinimumQuantity() < 1)
+            return finish(inventory, null, context, start);
+        long reserved = inventory.getDenominationTotal();
+        if (reserved > buyIn.getCents())
+            return finish(inventory, null, context, start);
+
+        // adding one of each denomination to every distribution of the rest
+        // doesn't change which distribution has the most chips
+        int[] quantities = search(inventory.reserve(1), buyIn.subtract(Money.ofCents(reserved)), context);
+        if (!context.proven)
+            context.upperBound += inventory.size();
+        if (quantities != null) {
+            quantities = quantities.clone();
+            for (int i = 0; i < quantities.length; i++)
+                quantities[i]++;
+        }
+        return finish(inventory, quantities, context, start);
+    }
+
+    /**
+     * Solves the distribution with the knapsack solver.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total in cents that each person should receive.
+     * @param context   the state of this solve.
+     * @return null if there is no solution, otherwise the quantity of each denomination.
+     */
+    private static int[] knapsack(Inventory inventory, long buyIn, SolveContext context) {
+        KnapsackSolver solver = new KnapsackSolver();
+        int[] solution = solver.solve(inventory, buyIn);
+        context.nodes = solver.getCells();
+        return solution;
+    }
+
+    /**
+     * Solves the distribution before the timeout of the context has passed.
+     * The knapsack proves the maximum in a single pass when its table is small,
+     * otherwise (or if it runs out of time) the branch and bound search keeps
+     * the best distribution it has found when the time is up.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total in cents that each person should receive.
+     * @param context   the state of this solve.
+     * @return null if no distribution was found, otherwise the quantity of each denomination.
+     */
+    private static int[] anytime(Inventory inventory, long buyIn, SolveContext context) {
+        if (buyIn < Integer.MAX_VALUE && (buyIn + 1) * inventory.size() <= TIMED_KNAPSACK_CELLS) {
+            int[] solution = new KnapsackSolver().solve(inventory, buyIn, context);
+            if (context.proven)
+                return solution;
+            // the table wasn't finished, so the search uses what is left of the time
+            context.proven = true;
+        }
+        return new BranchAndBoundSolver().solve(inventory, buyIn, context);
+    }
+
+    /**
+     * Solves the distribution with the branch and bound solver.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total in cents that each person should receive.
+     * @param context   the state of this solve.
+     * @return null if there is no solution, otherwise the quantity of each denomination.
+     */
+    private static int[] branchAndBound(Inventory inventory, long buyIn, SolveContext context) {
+        return new BranchAndBoundSolver().solve(inventory, buyIn, context);
+    }
+
+    /**
+     * Verify the solution adds up to the buy in without using more chips than
+     * there are, only checked when the contract invariants are on.
+     */
+    private static boolean verifySolution(Inventory inventory, int[] solution, long buyIn) {
+        long total = 0;
+        for (int i = 0; i < inventory.size(); i++) {
+            if (solution[i] < 0 || solution[i] > inventory.getQuantity(i))
+                return false;
+            total += inventory.getCents(i) * solution[i];
+        }
+        return total == buyIn;
+    }
+}
@@ -0,0 +1,134 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ColourSolution {
+    private final String[] colours;
+    private final Money[] denominations;
+    private final int[] quantities;
+    private final long assignments;
+    private final long prunes;
+
+    /**
+     * Creates a new solution of the colour question.
+     *
+     * @param colours       the distinct colours.
+     * @param denominations the denomination assigned to each colour, or null if there is no solution.
+     * @param quantities    the quantity of each colour, or null if there is no solution.
+     * @param assignments   the number of denomination assignments that were solved.
+     * @param prunes        the number of partial assignments that were cut off by a bound.
+     */
+    public ColourSolution(String[] colours, Money[] denominations, int[] quantities, long assignments, long prunes) {
+        Contract.requires(colours != null, "Colours must not be null");
+        Contract.requires((denominations == null) == (quantities == null),
+                "Denominations and quantities must both be set or both be null");
+        Contract.requires(denominations == null ||
+                denominations.length == colours.length && quantities.length == colours.length,
+                "Denominations and quantities must match the colours");
+        this.colours = colours.clone();
+        this.denominations = denominations == null ? null : denominations.clone();
+        this.quantities = quantities == null ? null : quantities.clone();
+        this.assignments = assignments;
+        this.prunes = prunes;
+    }
+
+    /**
+     * Gets a value indicating whether there is a distribution.
+     *
+     * @return true if the buy in can be made from the colours.
+     */
+    public boolean isSolved() {
+        return this.quantities != null;
+    }
+
+    /**
+     * Gets the number of distinct colours.
+     *
+     * @return the number of colours.
+     */
+    public int size() {
+        return this.colours.length;
+    }
+
+    /**
+     * Gets the colour at the index, the colours are in the order they
+     * were first given in.
+     *
+     * @param index the index of the colour.
+     * @return the colour.
+     */
+    public String getColour(int index) {
+        return this.colours[index];
+    }
+
+    /**
+     * Gets the denomination assigned to the colour at the index.
+     *
+     * @param index the index of the colour.
+     * @return the denomination.
+     */
+    public Money getDenomination(int index) {
+        Contract.requires(isSolved(), "There is no solution");
+        return this.denominations[index];
+    }
+
+    /**
+     * Gets the quantity of the colour at the index that each person receives.
+     *
+     * @param index the index of the colour.
+     * @return the quantity of the colour.
+     */
+    public int getQuantity(int index) {
+        Contract.requires(isSolved(), "There is no solution");
+        return this.quantities[index];
+    }
+
+    /**
+     * Gets the total number of chips each person receives.
+     *
+     * @return 0 if there is no solution, otherwise the number of chips.
+     */
+    public int getChips() {
+        int chips = 0;
+        if (this.quantities != null)
+            for (int quantity : this.quantities)
+                chips += quantity;
+        return chips;
+    }
+
+    /**
+     * Gets the number of denomination assignments that were solved.
+     *
+     * @return the number of assignments.
+     */
+    public long getAssignments() {
+        return this.assignments;
+    }
+
+    /**
+     * Gets the number of partial assignments that were cut off
+     * because they couldn't reach the buy in or beat the best one.
+     *
+     * @return the number of pruned assignments.
+     */
+    public long getPrunes() {
+        return this.prunes;
+    }
+}
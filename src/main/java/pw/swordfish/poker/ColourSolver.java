@@ -0,0 +1,393 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ColourSolver {
+    // the coins and bills in circulation, in cents
+    private static final long[] STANDARD_DENOMINATIONS = {
+            1, 5, 10, 25, 50, 100, 200, 500, 1000, 2000, 2500, 5000, 10000, 50000, 100000
+    };
+    // the denominations of the first colours are split into
+    // tasks and the rest of the colours are searched sequentially
+    private static final int SPLIT_DEPTH = 2;
+    private final ChipSolver solver;
+    private final long[] denominations;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new colour solver that uses all of the available processors.
+     */
+    public ColourSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new colour solver that assigns the standard denominations.
+     *
+     * @param parallelism the number of threads to search with.
+     */
+    public ColourSolver(int parallelism) {
+        this(new ChipSolver(), parallelism, getStandardDenominations());
+    }
+
+    /**
+     * Creates a new colour solver.
+     *
+     * @param solver        the solver for the distribution of each assignment.
+     * @param parallelism   the number of threads to search with.
+     * @param denominations the distinct denominations that can be assigned to a colour.
+     */
+    public ColourSolver(ChipSolver solver, int parallelism, Money... denominations) {
+        Contract.requires(solver != null, "Solver must not be null");
+        Contract.requires(parallelism > 0, "Parallelism must be > 0, Actual: %s", parallelism);
+        Contract.requires(denominations != null && denominations.length > 0, "Denominations must not be empty");
+        Contract.requires(denominations.length < Long.SIZE,
+                "There must be < %s denominations, Actual: %s", Long.SIZE, denominations.length);
+        this.denominations = new long[denominations.length];
+        for (int i = 0; i < denominations.length; i++) {
+            Contract.requires(denominations[i].getCents() > 0, "Denomination must be >= $0.01, Actual: %s", denominations[i]);
+            this.denominations[i] = denominations[i].getCents();
+        }
+        Arrays.sort(this.denominations);
+        for (int i = 1; i < this.denominations.length; i++)
+            Contract.requires(this.denominations[i] != this.denominations[i - 1],
+                    "Denominations must be distinct, Actual: %s", Money.ofCents(this.denominations[i]));
+        this.solver = solver;
+        this.pool = ForkJoinPools.get(parallelism);
+    }
+
+    /**
+     * Gets the coins and bills in circulation that are
+     * assigned to the colours by default.
+     *
+     * @return the standard denominations.
+     */
+    public static Money[] getStandardDenominations() {
+        Money[] denominations = new Money[STANDARD_DENOMINATIONS.length];
+        for (int i = 0; i < denominations.length; i++)
+            denominations[i] = Money.ofCents(STANDARD_DENOMINATIONS[i]);
+        return denominations;
+    }
+
+    /**
+     * Gets the number of threads the solver searches with.
+     *
+     * @return the number of threads.
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Assigns a distinct denomination to each colour so that the maximum
+     * number of chips totals exactly to the buy in. Every assignment of
+     * denominations to the colours with chips is solved with the default
+     * solver unless it can't reach the buy in or beat the best assignment
+     * found so far by any thread. Of the assignments with the most chips the
+     * one that gives the smallest denominations to the colours with the most
+     * chips is kept.
+     *
+     * @param chips  the chips to distribute.
+     * @param people the number of people to give chips to.
+     * @param buyIn  the exact chip total that each person should receive.
+     * @return the assignment and distribution, which is unsolved if there is no solution.
+     */
+    public ColourSolution solve(ChipColour[] chips, int people, Money buyIn) {
+        Contract.requires(chips != null, "Chips must not be null");
+        Contract.requires(people >= 0, "People must be >= 0");
+        Contract.requires(buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+
+        // rolls of the same colour are merged, each roll is shared out on its own
+        LinkedHashMap<String, Integer> merged = new LinkedHashMap<String, Integer>();
+        for (ChipColour chip : chips) {
+            Integer quantity = merged.get(chip.getColour());
+            int share = people == 0 ? 0 : chip.getQuantity() / people;
+            merged.put(chip.getColour(), quantity == null ? share : quantity + share);
+        }
+        String[] colours = merged.keySet().toArray(new String[merged.size()]);
+        final int[] shares = new int[colours.length];
+        int index = 0;
+        for (Map.Entry<String, Integer> colour : merged.entrySet())
+            shares[index++] = colour.getValue();
+
+        if (people == 0 || buyIn.getCents() == 0 || colours.length == 0 ||
+                colours.length > this.denominations.length)
+            return new ColourSolution(colours, null, null, 0, 0);
+
+        // the colours are searched from the most chips to the fewest so that
+        // the first assignments give the small denominations to the big rolls
+        Integer[] order = new Integer[colours.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                return shares[second] - shares[first];
+            }
+        });
+        int searched = 0;
+        while (searched < order.length && shares[order[searched]] > 0)
+            searched++;
+        int[] quantities = new int[searched];
+        for (int i = 0; i < searched; i++)
+            quantities[i] = shares[order[i]];
+
+        Search search = new Search(this.solver, this.denominations, quantities, buyIn.getCents());
+        if (searched > 0 && !search.pruned(new int[searched], 0, 0, new int[this.denominations.length]))
+            this.pool.invoke(new AssignmentTask(search, new int[searched], 0, 0));
+        Candidate best = search.best.get();
+        if (best == null)
+            return new ColourSolution(colours, null, null, search.assignments.get(), search.prunes.get());
+
+        Money[] assigned = new Money[colours.length];
+        int[] selected = new int[colours.length];
+        long used = 0;
+        for (int i = 0; i < searched; i++) {
+            assigned[order[i]] = Money.ofCents(this.denominations[best.assignment[i]]);
+            selected[order[i]] = best.counts[i];
+            used |= 1L << best.assignment[i];
+        }
+        // colours without any chips to share out take the smallest denominations left
+        int denomination = 0;
+        for (int i = searched; i < order.length; i++) {
+            while ((used & 1L << denomination) != 0)
+                denomination++;
+            assigned[order[i]] = Money.ofCents(this.denominations[denomination]);
+            used |= 1L << denomination;
+        }
+        return new ColourSolution(colours, assigned, selected, search.assignments.get(), search.prunes.get());
+    }
+
+    /**
+     * A complete assignment and the quantity of each colour.
+     */
+    private static final class Candidate {
+        final int chips;
+        final int[] assignment;
+        final int[] counts;
+
+        Candidate(int chips, int[] assignment, int[] counts) {
+            this.chips = chips;
+            this.assignment = assignment;
+            this.counts = counts;
+        }
+
+        /**
+         * Gets a value indicating whether this candidate replaces the other,
+         * more chips win and then the assignment that is searched first.
+         */
+        boolean beats(Candidate other) {
+            if (other == null)
+                return true;
+            if (this.chips != other.chips)
+                return this.chips > other.chips;
+            return compare(this.assignment, other.assignment, this.assignment.length) < 0;
+        }
+    }
+
+    /**
+     * Compares the denominations of the first colours of two assignments.
+     */
+    private static int compare(int[] first, int[] second, int length) {
+        for (int i = 0; i < length; i++)
+            if (first[i] != second[i])
+                return first[i] < second[i] ? -1 : 1;
+        return 0;
+    }
+
+    /**
+     * The state shared between the tasks of a single solve.
+     */
+    private static final class Search {
+        final ChipSolver solver;
+        final long[] denominations;
+        final int[] quantities;
+        final long buyIn;
+        final AtomicReference<Candidate> best = new AtomicReference<Candidate>();
+        final AtomicLong assignments = new AtomicLong();
+        final AtomicLong prunes = new AtomicLong();
+
+        Search(ChipSolver solver, long[] denominations, int[] quantities, long buyIn) {
+            this.solver = solver;
+            this.denominations = denominations;
+            this.quantities = quantities;
+            this.buyIn = buyIn;
+        }
+
+        /**
+         * Gets a value indicating whether the colours after depth can't be
+         * assigned so that the buy in is reached or the best assignment is
+         * beaten. The unassigned colours are optimistically paired with the
+         * largest denominations that are left for the total, and with the
+         * smallest ones for the number of chips.
+         *
+         * @param assignment the denomination index of the first colours.
+         * @param depth      the number of colours that are assigned.
+         * @param used       the denominations that are assigned.
+         * @param capacity   scratch space for the quantity of each denomination.
+         */
+        boolean pruned(int[] assignment, int depth, long used, int[] capacity) {
+            Arrays.fill(capacity, 0);
+            long total = 0;
+            for (int i = 0; i < depth; i++) {
+                capacity[assignment[i]] = this.quantities[i];
+                total += this.quantities[i] * this.denominations[assignment[i]];
+            }
+            // the quantities are sorted from the most chips to the fewest
+            int largest = this.denominations.length - 1;
+            int smallest = 0;
+            for (int i = depth; i < this.quantities.length; i++) {
+                while ((used & 1L << largest) != 0)
+                    largest--;
+                total += this.quantities[i] * this.denominations[largest--];
+                while ((used & 1L << smallest) != 0)
+                    smallest++;
+                capacity[smallest++] = this.quantities[i];
+            }
+            if (total < this.buyIn) {
+                this.prunes.incrementAndGet();
+                return true;
+            }
+
+            Candidate best = this.best.get();
+            if (best == null)
+                return false;
+            // the cheapest chips first give the most chips for the buy in
+            int bound = 0;
+            long remaining = this.buyIn;
+            for (int i = 0; i < capacity.length && remaining >= this.denominations[i]; i++) {
+                long quantity = Math.min(capacity[i], remaining / this.denominations[i]);
+                bound += quantity;
+                remaining -= quantity * this.denominations[i];
+            }
+            if (bound < best.chips || bound == best.chips && compare(assignment, best.assignment, depth) > 0) {
+                this.prunes.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Solves the distribution of a complete assignment and keeps it if
+         * it beats the best one.
+         */
+        void solve(int[] assignment) {
+            this.assignments.incrementAndGet();
+            ChipRoll[] chips = new ChipRoll[assignment.length];
+            for (int i = 0; i < assignment.length; i++)
+                chips[i] = new ChipRoll(this.quantities[i], Money.ofCents(this.denominations[assignment[i]]));
+            Solution solution = this.solver.solve(new Inventory(chips), Money.ofCents(this.buyIn));
+            if (!solution.isSolved())
+                return;
+
+            // the inventory sorts the colours by denomination
+            int[] counts = new int[assignment.length];
+            for (int i = 0; i < assignment.length; i++) {
+                int rank = 0;
+                for (int j = 0; j < assignment.length; j++)
+                    if (assignment[j] < assignment[i])
+                        rank++;
+                counts[i] = solution.getQuantity(rank);
+            }
+            Candidate candidate = new Candidate(solution.getChips(), assignment.clone(), counts);
+            Candidate best;
+            do {
+                best = this.best.get();
+            } while (candidate.beats(best) && !this.best.compareAndSet(best, candidate));
+        }
+
+        /**
+         * Sequentially assigns a denomination to the colour at depth
+         * and then searches the rest of the colours.
+         */
+        void search(int[] assignment, int depth, long used, int[] capacity) {
+            if (depth == this.quantities.length) {
+                solve(assignment);
+                return;
+            }
+            for (int i = first(assignment, depth); i < this.denominations.length; i++) {
+                if ((used & 1L << i) != 0)
+                    continue;
+                assignment[depth] = i;
+                if (!pruned(assignment, depth + 1, used | 1L << i, capacity))
+                    search(assignment, depth + 1, used | 1L << i, capacity);
+            }
+        }
+
+        /**
+         * Gets the first denomination that the colour at depth can take,
+         * swapping the denominations of two colours with the same number
+         * of chips gives the same distribution so they are kept in order.
+         */
+        int first(int[] assignment, int depth) {
+            if (depth > 0 && this.quantities[depth] == this.quantities[depth - 1])
+                return assignment[depth - 1] + 1;
+            return 0;
+        }
+    }
+
+    /**
+     * Searches the assignments of the colours at depth and above.
+     */
+    private static final class AssignmentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Search search;
+        private final int[] assignment;
+        private final int depth;
+        private final long used;
+
+        AssignmentTask(Search search, int[] assignment, int depth, long used) {
+            this.search = search;
+            this.assignment = assignment;
+            this.depth = depth;
+            this.used = used;
+        }
+
+        @Override
+        protected void compute() {
+            int[] capacity = new int[this.search.denominations.length];
+            if (this.depth >= SPLIT_DEPTH || this.depth == this.assignment.length) {
+                this.search.search(this.assignment, this.depth, this.used, capacity);
+                return;
+            }
+            List<AssignmentTask> tasks = new ArrayList<AssignmentTask>();
+            for (int i = this.search.first(this.assignment, this.depth); i < this.search.denominations.length; i++) {
+                if ((this.used & 1L << i) != 0)
+                    continue;
+                int[] assignment = this.assignment.clone();
+                assignment[this.depth] = i;
+                if (!this.search.pruned(assignment, this.depth + 1, this.used | 1L << i, capacity))
+                    tasks.add(new AssignmentTask(this.search, assignment, this.depth + 1, this.used | 1L << i));
+            }
+            invokeAll(tasks);
+        }
+    }
+}
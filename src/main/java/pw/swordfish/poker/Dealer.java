@@ -3,10 +3,8 @@ package pw.swordfish.poker;
 import pw.swordfish.contracts.Contract;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is a a source file belonging to the Solium project.
@@ -26,21 +24,140 @@ import java.util.Map;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 public class Dealer {
-    private static final int NO_SOLUTION = -1;
-    //private TreeSet<ChipRoll> selectedChips;
-    private HashMap<BigDecimal, Integer> selectedChips;
-    private ChipRoll[] chipRolls;
-    // private HashMap<BigDecimal, Integer>[] opt;
-    private int calls;
+    private ChipSolver solver;
+    // the memo table is kept between invocations so
+    // that we don't have to grow it again
+    private final MemoTable memo;
+    private SolveStats stats = new SolveStats(0, 0, 0, 0, false, 0, 0);
+    private final int parallelism;
 
     /**
-     * Gets the number of calls on the last invocation of
+     * Creates a new dealer that uses the knapsack strategy.
+     */
+    public Dealer() {
+        this(Strategy.KNAPSACK);
+    }
+
+    /**
+     * Creates a new dealer.
+     *
+     * @param strategy the strategy to use when searching for a distribution.
+     */
+    public Dealer(Strategy strategy) {
+        this(strategy, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new dealer. A dealer remembers the statistics of the last
+     * distribution so it can't be shared between threads, use a
+     * {@link ChipSolver} for that instead.
+     *
+     * @param strategy    the strategy to use when searching for a distribution.
+     * @param parallelism the number of threads to search with, only used
+     *                    by the parallel strategy.
+     */
+    public Dealer(Strategy strategy, int parallelism) {
+        this.solver = new ChipSolver(strategy, parallelism);
+        this.parallelism = parallelism;
+        this.memo = strategy == Strategy.MEMOIZED ? new MemoTable() : null;
+    }
+
+    /**
+     * Gets the strategy used to search for a distribution.
+     *
+     * @return the strategy used to search for a distribution.
+     */
+    public Strategy getStrategy() {
+        return this.solver.getStrategy();
+    }
+
+    /**
+     * Gets the cache of solutions that is checked before solving.
+     *
+     * @return the cache of solutions or null if there isn't one.
+     */
+    public SolutionCache getCache() {
+        return this.solver.getCache();
+    }
+
+    /**
+     * Sets the cache of solutions that is checked before solving, the same
+     * cache can be shared between dealers.
+     *
+     * @param cache the cache of solutions, or null to always solve.
+     */
+    public void setCache(SolutionCache cache) {
+        this.solver = this.solver.withCache(cache);
+    }
+
+    /**
+     * Gets the number of threads used by the parallel strategy.
+     *
+     * @return the number of threads.
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Gets the solver that the dealer delegates to.
+     *
+     * @return the solver.
+     */
+    public ChipSolver getSolver() {
+        return this.solver;
+    }
+
+    /**
+     * Gets the memo table that every memoized search of the dealer reuses.
+     *
+     * @return the memo table, or null unless the strategy is memoized.
+     */
+    MemoTable getMemo() {
+        return this.memo;
+    }
+
+    /**
+     * Gets the statistics of the last invocation of
      * maximumEqualChipDistributionForBuyIn.
      *
+     * @return the statistics of the last solve.
+     */
+    public SolveStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Gets the number of calls on the last invocation of
+     * maximumEqualChipDistributionForBuyIn. For the knapsack
+     * strategy this is the number of table cells evaluated.
+     *
      * @return the number of calls.
      */
     public int getCalls() {
-        return this.calls;
+        return (int) Math.min(Integer.MAX_VALUE, this.stats.getNodes());
+    }
+
+    /**
+     * Gets the number of subproblems that were answered from the memo
+     * table on the last invocation of maximumEqualChipDistributionForBuyIn.
+     * Always 0 unless the strategy is memoized.
+     *
+     * @return the number of cache hits.
+     */
+    public int getCacheHits() {
+        return (int) Math.min(Integer.MAX_VALUE, this.stats.getCacheHits());
+    }
+
+    /**
+     * Gets the number of subproblems that had to be searched on the last
+     * invocation of maximumEqualChipDistributionForBuyIn.
+     * Always 0 unless the strategy is memoized.
+     *
+     * @return the number of cache misses.
+     */
+    public int getCacheMisses() {
+        return (int) Math.min(Integer.MAX_VALUE, this.stats.getCacheMisses());
     }
 
     /**
@@ -53,127 +170,69 @@ public class Dealer {
      *         chipRolls that total to the buy in can can be allocated to each person.
      */
     public HashMap<BigDecimal, Integer> maximumEqualChipDistributionForBuyIn(ChipRoll[] chips, int people, BigDecimal buyIn) {
-        HashMap<BigDecimal, Integer> emptySet = new HashMap<BigDecimal, Integer>();
-        Contract.requires(people >= 0, "People must be >= 0");
         Contract.requires(buyIn.compareTo(BigDecimal.ZERO) >= 0, "Buy in must be >= $0.00");
-        // implicitly the denomination is >= 0.01 and the quantity is >= 0 since a chip cannot
-        // be created with an invalid denomination or quantity so we don't need to check it
-        Contract.requires(chips != null, "ChipRolls must not be null");
-
-        if (people == 0)
-            return emptySet;
-        if (buyIn.compareTo(BigDecimal.ZERO) == 0)
-            return emptySet;
-        // we know that there are people and the buy in is positive
-        // so if we have no chipRolls then this is impossible
-        if (chips.length == 0)
-            return emptySet;
-
-        // reduce the quantity by people, that way we
-        // can just worry about one person instead of multiple ones
-        ChipRoll[] reducedChipRolls = new ChipRoll[chips.length];
-        for (int i = 0; i < chips.length; i++) {
-            ChipRoll chipRoll = chips[i];
-            reducedChipRolls[i] = new ChipRoll(chipRoll.getQuantity() / people, chipRoll.getDenomination());
+        Money amount;
+        try {
+            amount = Money.valueOf(buyIn);
+        } catch (ArithmeticException e) {
+            // fractions of a cent can never be made from chips
+            return new HashMap<BigDecimal, Integer>();
         }
-        // normally I wouldn't set any state in this class because it could
-        // possibly destroy referential transparency, but this makes our recursive
-        // calls easier
-        this.chipRolls = reducedChipRolls;
-
-        // now select all chip rolls and sort them by denomination
-        this.selectedChips = new HashMap<BigDecimal, Integer>();
-        //TreeSet<ChipRoll>(ChipRoll.compareByDenomination());
-        for (ChipRoll chip : reducedChipRolls)
-            this.selectedChips.put(chip.getDenomination(), 0);
-
-        // enable us to keep track of the number of calls.
-        this.calls = 0;
-
-        // TODO: this is really bad, definitely remove this...
-        this.chipRolls = linearizeChipRolls(chipRolls);
-
-        this.maximumEqualChipDistributionForBuyIn(0, buyIn);
-
-        if (!verifySolution(selectedChips, buyIn))
-            return emptySet;
-
-        return selectedChips;
+        return maximumEqualChipDistributionForBuyIn(chips, people, amount);
     }
 
     /**
-     * Verify the solution...
+     * Gets the maximum chip distribution for the number of people
+     * and buy in specified.
+     *
+     * @param people the number of people to give chipRolls to.
+     * @param buyIn  the exact chip total that each person should receive.
+     * @return an empty map if there is no solution, otherwise the maximum number of
+     *         chipRolls that total to the buy in can can be allocated to each person.
      */
-    private boolean verifySolution(HashMap<BigDecimal, Integer> hashMap, BigDecimal buyIn) {
-        BigDecimal total = BigDecimal.ZERO;
-        for (Map.Entry<BigDecimal, Integer> chip : hashMap.entrySet())
-            total = total.add(chip.getKey().multiply(BigDecimal.valueOf(chip.getValue())));
-        return total.compareTo(buyIn) == 0;
+    public HashMap<BigDecimal, Integer> maximumEqualChipDistributionForBuyIn(ChipRoll[] chips, int people, Money buyIn) {
+        Solution solution = this.solver.solve(chips, people, buyIn, new SolveContext(this.memo));
+        this.stats = solution.getStats();
+        return solution.toHashMap();
     }
 
     /**
-     * Creates a new chip for each chip quantity.
-     * Example: Chip($1,5) would become
-     * Chip($1,1)
-     * Chip($1,1)
-     * Chip($1,1)
-     * Chip($1,1)
-     * Chip($1,1)
+     * Gets the maximum chip distribution for the number of people and buy in
+     * specified, or the best distribution that can be found in the time given
+     * for inputs that would take too long to search. Like the other solves the
+     * memo table of the dealer is passed to the solver, a timed solve searches
+     * with the knapsack and branch and bound though so it doesn't fill it.
      *
-     * @param chipRolls the chip rolls to linearize.
+     * @param people  the number of people to give chipRolls to.
+     * @param buyIn   the exact chip total that each person should receive.
+     * @param timeout the time the solve is allowed to take.
+     * @param unit    the unit of the timeout.
+     * @return the distribution, which isn't proven to be the maximum if the
+     *         time ran out and is unsolved if none was found.
      */
-    private ChipRoll[] linearizeChipRolls(ChipRoll[] chipRolls) {
-        Arrays.sort(chipRolls, ChipRoll.compareByDenomination());
-        ArrayList<ChipRoll> linearChips = new ArrayList<ChipRoll>();
-        // TODO: this can be done faster, but I doubt this would be the bottle-neck...
-        for (ChipRoll chipRoll : chipRolls)
-            for (int i = 0; i < chipRoll.getQuantity(); i++)
-                linearChips.add(new ChipRoll(1, chipRoll.getDenomination()));
-
-        return linearChips.toArray(new ChipRoll[linearChips.size()]);
+    public Solution maximumEqualChipDistributionWithin(ChipRoll[] chips, int people, Money buyIn,
+                                                      long timeout, TimeUnit unit) {
+        Contract.requires(timeout >= 0, "Timeout must be >= 0, Actual: %s", timeout);
+        Contract.requires(unit != null, "Unit must not be null");
+        SolveContext context = new SolveContext(this.memo);
+        context.setTimeout(unit.toNanos(timeout));
+        Solution solution = this.solver.solve(chips, people, buyIn, context);
+        this.stats = solution.getStats();
+        return solution;
     }
 
     /**
-     * Gets the maximum number of chips that exactly equal the specified buy in
+     * Gets the maximum number of chips of each denomination of the inventory
+     * that total exactly to the buy in.
      *
-     * @param index     the start index for chips.
-     * @param remaining the remaining buy in.
-     * @return the maximum number of chips.
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total that the person should receive.
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination of the inventory.
      */
-    private int maximumEqualChipDistributionForBuyIn(int index, BigDecimal remaining) {
-        // base case 0, have we already selected the maximum number
-        // of chips?
-        if (remaining.compareTo(BigDecimal.ZERO) == 0)
-            return 0;
-
-        // if there are no more chips then there is no solution in
-        // this chain
-        if (index >= chipRolls.length)
-            return NO_SOLUTION;
-
-        calls++;
-        BigDecimal chip = chipRolls[index].getDenomination();
-        // do we have chips remaining that are less than the
-        // remaining amount?
-        if (remaining.compareTo(chip) < 0)
-            return NO_SOLUTION;
-
-        int add = maximumEqualChipDistributionForBuyIn(index + 1, remaining.subtract(chip));
-        if (add != NO_SOLUTION) {
-            int quantity =
-                    selectedChips.containsKey(chip) ?
-                            (selectedChips.get(chip) + 1) :
-                            1;
-            selectedChips.put(chip, quantity);
-
-            return add + 1;
-        }
-
-        int skip = maximumEqualChipDistributionForBuyIn(index + 1, remaining);
-        if (skip != NO_SOLUTION) {
-            return skip;
-        }
-
-        return NO_SOLUTION;
+    public int[] maximumEqualChipDistributionForBuyIn(Inventory inventory, Money buyIn) {
+        Solution solution = this.solver.solve(inventory, buyIn, new SolveContext(this.memo));
+        this.stats = solution.getStats();
+        return solution.getQuantities();
     }
 }
@@ -0,0 +1,424 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class Distribution {
+    /**
+     * The distribution without any chips, e.g. when there is no solution.
+     */
+    public static final Distribution EMPTY = new Distribution(new long[0], new int[0], null);
+    private final long[] cents;
+    private final int[] counts;
+    private final int[] scales;
+    private Map<BigDecimal, Integer> map;
+
+    /**
+     * Creates a distribution, the arrays are kept so they must not be modified.
+     *
+     * @param cents  the denominations in cents, sorted in ascending order.
+     * @param counts the number of chips of each denomination.
+     * @param scales the number of decimal places each denomination was written
+     *               with in the chip rolls, or null to write them with two.
+     */
+    private Distribution(long[] cents, int[] counts, int[] scales) {
+        this.cents = cents;
+        this.counts = counts;
+        this.scales = scales;
+    }
+
+    /**
+     * Creates a distribution of the chips.
+     *
+     * @param cents  the denominations in cents, sorted in ascending order.
+     * @param counts the number of chips of each denomination.
+     * @return the distribution.
+     */
+    public static Distribution of(long[] cents, int[] counts) {
+        Contract.requires(cents != null, "Cents must not be null");
+        Contract.requires(counts != null, "Counts must not be null");
+        Contract.requires(cents.length == counts.length, "Counts must match the denominations");
+        for (int i = 0; i < cents.length; i++) {
+            Contract.requires(cents[i] > 0, "Denomination must be > 0 cents, Actual: %s", cents[i]);
+            Contract.requires(i == 0 || cents[i - 1] < cents[i], "Denominations must be sorted and unique");
+            Contract.requires(counts[i] >= 0, "Count must be >= 0, Actual: %s", counts[i]);
+        }
+        return cents.length == 0 ? EMPTY : new Distribution(cents.clone(), counts.clone(), null);
+    }
+
+    /**
+     * Creates a distribution of the chips whose denominations are written
+     * with the scale, the number of decimal places, of each denomination.
+     *
+     * @param cents  the denominations in cents, sorted in ascending order.
+     * @param counts the number of chips of each denomination.
+     * @param scales the scale of each denomination, e.g. 0 to write $1 and 2 to write $1.00.
+     * @return the distribution.
+     */
+    public static Distribution of(long[] cents, int[] counts, int[] scales) {
+        Contract.requires(scales != null && scales.length == cents.length, "Scales must match the denominations");
+        Distribution distribution = of(cents, counts);
+        if (distribution.isEmpty())
+            return distribution;
+        for (int i = 0; i < scales.length; i++)
+            Contract.requires(isExact(cents[i], scales[i]),
+                    "Denomination of %s cents can't be written with scale %s", cents[i], scales[i]);
+        return new Distribution(distribution.cents, distribution.counts, scales.clone());
+    }
+
+    /**
+     * Creates the distribution of a solution of the inventory.
+     *
+     * @param inventory  the inventory that was solved.
+     * @param quantities the quantity of each denomination of the inventory.
+     * @return the distribution.
+     */
+    static Distribution of(Inventory inventory, int[] quantities) {
+        long[] cents = new long[inventory.size()];
+        int[] scales = new int[inventory.size()];
+        for (int i = 0; i < cents.length; i++) {
+            scales[i] = inventory.getScale(i);
+            // denominations of a divided inventory may be rounded up,
+            // so the cents are taken from the original denomination
+            cents[i] = inventory.getUnit() == 1 ? inventory.getCents(i) : Money.toCents(inventory.getDenomination(i));
+        }
+        return cents.length == 0 ? EMPTY : new Distribution(cents, quantities.clone(), scales);
+    }
+
+    /**
+     * Gets the number of denominations in the distribution.
+     *
+     * @return the number of denominations.
+     */
+    public int size() {
+        return this.cents.length;
+    }
+
+    /**
+     * Gets a value indicating whether the distribution has no denominations.
+     *
+     * @return true if there are no denominations.
+     */
+    public boolean isEmpty() {
+        return this.cents.length == 0;
+    }
+
+    /**
+     * Gets the denomination at the index, the denominations are
+     * sorted in ascending order.
+     *
+     * @param i the index of the denomination.
+     * @return the denomination in cents.
+     */
+    public long getCents(int i) {
+        return this.cents[i];
+    }
+
+    /**
+     * Gets the number of decimal places the denomination at the index is written with.
+     *
+     * @param i the index of the denomination.
+     * @return the scale of the denomination, 2 unless the distribution is of a solution.
+     */
+    public int getScale(int i) {
+        return this.scales == null ? 2 : this.scales[i];
+    }
+
+    /**
+     * Gets a value indicating whether every denomination is written with two decimal places.
+     *
+     * @return true if the denominations are written like $1.00.
+     */
+    public boolean hasDefaultScale() {
+        if (this.scales != null)
+            for (int scale : this.scales)
+                if (scale != 2)
+                    return false;
+        return true;
+    }
+
+    /**
+     * Gets the number of chips of the denomination at the index.
+     *
+     * @param i the index of the denomination.
+     * @return the number of chips.
+     */
+    public int getCount(int i) {
+        return this.counts[i];
+    }
+
+    /**
+     * Gets the number of chips of the denomination.
+     *
+     * @param cents the denomination in cents.
+     * @return the number of chips, 0 if the denomination isn't in the distribution.
+     */
+    public int getCountOf(long cents) {
+        int i = Arrays.binarySearch(this.cents, cents);
+        return i < 0 ? 0 : this.counts[i];
+    }
+
+    /**
+     * Gets the total number of chips.
+     *
+     * @return the number of chips.
+     */
+    public int getChips() {
+        int chips = 0;
+        for (int count : this.counts)
+            chips += count;
+        return chips;
+    }
+
+    /**
+     * Gets the total value of the chips.
+     *
+     * @return the total in cents.
+     */
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < this.cents.length; i++)
+            total += this.cents[i] * this.counts[i];
+        return total;
+    }
+
+    /**
+     * Writes the distribution one denomination per line, from the largest
+     * denomination to the smallest, e.g. $1.00 - 2. The denominations of
+     * a solution are written the way they were written in the chip rolls.
+     *
+     * @param out the destination of the distribution.
+     * @throws IOException if the destination can't be written to.
+     */
+    public void appendTo(Appendable out) throws IOException {
+        for (int i = this.cents.length - 1; i >= 0; i--) {
+            if (i != this.cents.length - 1)
+                out.append('\n');
+            out.append('$');
+            appendDenomination(out, this.cents[i], getScale(i));
+            out.append(" - ");
+            appendDigits(out, this.counts[i]);
+        }
+    }
+
+    /**
+     * Writes the denomination the way BigDecimal writes it with the scale,
+     * e.g. 100 cents is $1 with a scale of 0 and $1.000 with a scale of 3.
+     *
+     * @param out   the destination of the denomination.
+     * @param cents the denomination in cents.
+     * @param scale the number of decimal places.
+     * @throws IOException if the destination can't be written to.
+     */
+    private static void appendDenomination(Appendable out, long cents, int scale) throws IOException {
+        if (scale < 0) {
+            // BigDecimal switches to its exponent notation, this never happens
+            // for denominations that were parsed from the chip rolls
+            out.append(BigDecimal.valueOf(cents, 2).setScale(scale).toString());
+            return;
+        }
+        appendDigits(out, cents / 100);
+        if (scale == 0)
+            return;
+        int fraction = (int) (cents % 100);
+        out.append('.').append((char) ('0' + fraction / 10));
+        if (scale == 1)
+            return;
+        out.append((char) ('0' + fraction % 10));
+        for (int i = 2; i < scale; i++)
+            out.append('0');
+    }
+
+    /**
+     * Writes the digits of a value that is >= 0.
+     *
+     * @param out   the destination of the digits.
+     * @param value the value to write.
+     * @throws IOException if the destination can't be written to.
+     */
+    private static void appendDigits(Appendable out, long value) throws IOException {
+        long divisor = 1;
+        while (divisor <= value / 10)
+            divisor *= 10;
+        for (; divisor > 0; divisor /= 10)
+            out.append((char) ('0' + value / divisor % 10));
+    }
+
+    /**
+     * Gets a value indicating whether the denomination can be written
+     * with the scale without rounding it.
+     *
+     * @param cents the denomination in cents.
+     * @param scale the number of decimal places.
+     * @return true if no digits of the denomination are lost.
+     */
+    static boolean isExact(long cents, int scale) {
+        if (scale >= 2)
+            return true;
+        // the digits that are dropped by the scale must all be 0
+        long unit = 1;
+        for (int i = scale; i < 2; i++) {
+            if (unit > Long.MAX_VALUE / 10)
+                return false;
+            unit *= 10;
+        }
+        return cents % unit == 0;
+    }
+
+    /**
+     * Gets an unmodifiable view of the distribution as a map from the
+     * denomination in dollars to the number of chips. The keys have two
+     * decimal places, but any scale of the same amount can be looked up.
+     *
+     * @return the map view of the distribution.
+     */
+    public Map<BigDecimal, Integer> asMap() {
+        // the view has no state of its own so a race only creates an extra one
+        Map<BigDecimal, Integer> view = this.map;
+        if (view == null)
+            this.map = view = new MapView();
+        return view;
+    }
+
+    /**
+     * Compares the denominations and counts, how the denominations
+     * are written isn't compared.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Distribution))
+            return false;
+        Distribution other = (Distribution) o;
+        return Arrays.equals(this.cents, other.cents) && Arrays.equals(this.counts, other.counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.cents) + Arrays.hashCode(this.counts);
+    }
+
+    /**
+     * Gets the distribution one denomination per line, from the largest
+     * denomination to the smallest.
+     *
+     * @return the distribution as a string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(16 * this.cents.length);
+        try {
+            appendTo(result);
+        } catch (IOException e) {
+            // a StringBuilder never throws
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * A map view over the arrays of the distribution, the entries
+     * are only created while iterating.
+     */
+    private final class MapView extends AbstractMap<BigDecimal, Integer> {
+        private Set<Map.Entry<BigDecimal, Integer>> entries;
+
+        @Override
+        public int size() {
+            return cents.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : counts[i];
+        }
+
+        @Override
+        public Set<Map.Entry<BigDecimal, Integer>> entrySet() {
+            if (this.entries == null)
+                this.entries = new AbstractSet<Map.Entry<BigDecimal, Integer>>() {
+                    @Override
+                    public int size() {
+                        return cents.length;
+                    }
+
+                    @Override
+                    public Iterator<Map.Entry<BigDecimal, Integer>> iterator() {
+                        return new Iterator<Map.Entry<BigDecimal, Integer>>() {
+                            private int next;
+
+                            @Override
+                            public boolean hasNext() {
+                                return this.next < cents.length;
+                            }
+
+                            @Override
+                            public Map.Entry<BigDecimal, Integer> next() {
+                                if (this.next >= cents.length)
+                                    throw new NoSuchElementException();
+                                int i = this.next++;
+                                return new SimpleImmutableEntry<BigDecimal, Integer>(
+                                        Money.toBigDecimal(cents[i]), counts[i]);
+                            }
+
+                            @Override
+                            public void remove() {
+                                throw new UnsupportedOperationException();
+                            }
+                        };
+                    }
+                };
+            return this.entries;
+        }
+
+        /**
+         * Gets the index of the denomination in dollars.
+         */
+        private int indexOf(Object key) {
+            if (!(key instanceof BigDecimal))
+                return -1;
+            long amount;
+            try {
+                amount = Money.toCents((BigDecimal) key);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(cents, amount);
+            return i < 0 ? -1 : i;
+        }
+    }
+}
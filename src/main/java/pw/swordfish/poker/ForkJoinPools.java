@@ -0,0 +1,51 @@
+package pw.swordfish.poker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class ForkJoinPools {
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+    private ForkJoinPools() {
+    }
+
+    /**
+     * Gets the pool with the parallelism, the pools are shared by every solver
+     * and live as long as the program so a solver never has to be shut down.
+     * The workers of a fork join pool are daemon threads that are stopped
+     * after they have been idle for a while.
+     *
+     * @param parallelism the number of threads of the pool.
+     * @return the shared pool.
+     */
+    static ForkJoinPool get(int parallelism) {
+        ForkJoinPool pool = POOLS.get(parallelism);
+        if (pool == null) {
+            ForkJoinPool created = new ForkJoinPool(parallelism);
+            pool = POOLS.putIfAbsent(parallelism, created);
+            if (pool == null)
+                pool = created;
+            else
+                created.shutdown();
+        }
+        return pool;
+    }
+}
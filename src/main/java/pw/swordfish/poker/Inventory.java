@@ -0,0 +1,454 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class Inventory {
+    // null for an inventory that was scanned without chip rolls, the
+    // denominations are then made from the cents and scales when asked for
+    private final BigDecimal[] denominations;
+    private final int[] scales;
+    // the denominations in cents, before the inventory was divided
+    private final long[] denominationCents;
+    private final long[] cents;
+    private final int[] quantities;
+    // the bundles are built by split() once the quantities are known
+    private int[] firstBundle;
+    private int[] bundleDenominations;
+    private int[] bundleSizes;
+    private long[] bundleCents;
+    private final long unit;
+
+    /**
+     * Creates a new inventory from the chip rolls. Rolls that share a
+     * value are merged and the denominations are sorted in
+     * ascending order.
+     *
+     * @param chipRolls the chip rolls in the inventory.
+     */
+    public Inventory(ChipRoll[] chipRolls) {
+        this(chipRolls, 1);
+    }
+
+    /**
+     * Creates a new inventory of the chips that each person can receive
+     * when the chip rolls are shared equally between people. Rolls that
+     * share a value are merged and the denominations are sorted in
+     * ascending order.
+     *
+     * @param chipRolls the chip rolls in the inventory.
+     * @param people    the number of people to share the chip rolls between.
+     */
+    public Inventory(ChipRoll[] chipRolls, int people) {
+        Contract.requires(chipRolls != null, "ChipRolls must not be null");
+        Contract.requires(people > 0, "People must be > 0, Actual: %s", people);
+        ChipRoll[] sorted = chipRolls.clone();
+        Arrays.sort(sorted, ChipRoll.compareByDenomination());
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++)
+            if (i == 0 || sorted[i].getCents() != sorted[i - 1].getCents())
+                size++;
+
+        // rolls of the same value are merged even if they are written
+        // differently, e.g. $1.0 and $1.00, the first one is kept
+        this.denominations = new BigDecimal[size];
+        this.scales = new int[size];
+        this.cents = new long[size];
+        this.quantities = new int[size];
+        int denomination = -1;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i].getCents() != sorted[i - 1].getCents()) {
+                denomination++;
+                this.denominations[denomination] = sorted[i].getDenomination();
+                this.scales[denomination] = sorted[i].getDenomination().scale();
+                this.cents[denomination] = sorted[i].getCents();
+            }
+            // each roll is shared out on its own, left over chips
+            // from different rolls aren't combined
+            this.quantities[denomination] += sorted[i].getQuantity() / people;
+        }
+
+        this.denominationCents = this.cents;
+        split();
+        this.unit = 1;
+    }
+
+    /**
+     * Creates an inventory of merged and sorted chips.
+     *
+     * @param cents      the denominations in cents, sorted in ascending order.
+     * @param quantities the quantity of each denomination.
+     * @param scales     the scale of each denomination.
+     */
+    private Inventory(long[] cents, int[] quantities, int[] scales) {
+        this.denominations = null;
+        this.scales = scales;
+        this.denominationCents = cents;
+        this.cents = cents;
+        this.quantities = quantities;
+        split();
+        this.unit = 1;
+    }
+
+    /**
+     * Creates a new inventory of the chips that each person can receive from
+     * chips that were scanned into arrays, without a chip roll or a BigDecimal
+     * for each chip. Like the chip rolls, chips that share a value are merged
+     * (the scale of the first one is kept) and each one is shared out on its own.
+     *
+     * @param cents      the denomination of each chip in cents, in the order they were written.
+     * @param quantities the quantity of each chip.
+     * @param scales     the number of decimal places each denomination was written with, from 0 to 2.
+     * @param size       the number of chips in the arrays.
+     * @param people     the number of people to share the chips between.
+     * @return the inventory.
+     */
+    public static Inventory of(long[] cents, int[] quantities, int[] scales, int size, int people) {
+        Contract.requires(cents != null && quantities != null && scales != null, "Chips must not be null");
+        Contract.requires(size >= 0 && size <= cents.length && size <= quantities.length && size <= scales.length,
+                "Size must be >= 0 and fit the chips, Actual: %s", size);
+        Contract.requires(people > 0, "People must be > 0, Actual: %s", people);
+        for (int i = 0; i < size; i++) {
+            Contract.requires(cents[i] > 0, "Denomination must be > 0 cents, Actual: %s", cents[i]);
+            Contract.requires(quantities[i] >= 0, "Quantity of chips must be >= 0, Actual: %s", quantities[i]);
+            Contract.requires(scales[i] >= 0 && scales[i] <= 2 && Distribution.isExact(cents[i], scales[i]),
+                    "Denomination of %s cents can't be written with scale %s", cents[i], scales[i]);
+        }
+
+        long[] sorted = Arrays.copyOf(cents, size);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < size; i++)
+            if (i == 0 || sorted[i] != sorted[i - 1])
+                sorted[distinct++] = sorted[i];
+
+        long[] merged = Arrays.copyOf(sorted, distinct);
+        int[] mergedQuantities = new int[distinct];
+        int[] mergedScales = new int[distinct];
+        Arrays.fill(mergedScales, -1);
+        for (int i = 0; i < size; i++) {
+            int denomination = Arrays.binarySearch(merged, cents[i]);
+            mergedQuantities[denomination] += quantities[i] / people;
+            if (mergedScales[denomination] < 0)
+                mergedScales[denomination] = scales[i];
+        }
+        return new Inventory(merged, mergedQuantities, mergedScales);
+    }
+
+    /**
+     * Creates a copy of the inventory with every amount divided by the divisor.
+     *
+     * @param inventory the inventory to copy.
+     * @param divisor   the divisor of every denomination.
+     */
+    private Inventory(Inventory inventory, long divisor) {
+        // the arrays that don't depend on the unit are never
+        // modified so they can be shared
+        this.denominations = inventory.denominations;
+        this.scales = inventory.scales;
+        this.denominationCents = inventory.denominationCents;
+        this.quantities = inventory.quantities;
+        this.firstBundle = inventory.firstBundle;
+        this.bundleDenominations = inventory.bundleDenominations;
+        this.bundleSizes = inventory.bundleSizes;
+        // denominations without any chips don't have to be multiples of the
+        // divisor, they are rounded up so that they stay in ascending order
+        this.cents = new long[inventory.cents.length];
+        for (int i = 0; i < this.cents.length; i++)
+            this.cents[i] = (inventory.cents[i] + divisor - 1) / divisor;
+        this.bundleCents = new long[inventory.bundleCents.length];
+        for (int i = 0; i < this.bundleCents.length; i++)
+            this.bundleCents[i] = inventory.bundleCents[i] / divisor;
+        this.unit = inventory.unit * divisor;
+    }
+
+    /**
+     * Creates a copy of the inventory with count chips of every denomination
+     * taken out.
+     *
+     * @param inventory the inventory to copy.
+     * @param count     the number of chips of every denomination to take out.
+     */
+    private Inventory(Inventory inventory, int count) {
+        this.denominations = inventory.denominations;
+        this.scales = inventory.scales;
+        this.denominationCents = inventory.denominationCents;
+        this.cents = inventory.cents;
+        this.quantities = new int[inventory.quantities.length];
+        for (int i = 0; i < this.quantities.length; i++)
+            this.quantities[i] = inventory.quantities[i] - count;
+        split();
+        this.unit = inventory.unit;
+    }
+
+    /**
+     * Splits each quantity into bundles of 1, 2, 4, ... and the remainder,
+     * every quantity between 0 and the total can be made from a subset
+     * of the bundles.
+     */
+    private void split() {
+        this.firstBundle = new int[this.quantities.length + 1];
+        int bundles = 0;
+        for (int i = 0; i < this.quantities.length; i++) {
+            this.firstBundle[i] = bundles;
+            bundles += bundleCount(this.quantities[i]);
+        }
+        this.firstBundle[this.quantities.length] = bundles;
+
+        this.bundleDenominations = new int[bundles];
+        this.bundleSizes = new int[bundles];
+        this.bundleCents = new long[bundles];
+        int bundle = 0;
+        for (int i = 0; i < this.quantities.length; i++) {
+            int remaining = this.quantities[i];
+            for (int power = 1; remaining > 0; power <<= 1) {
+                int bundleSize = Math.min(power, remaining);
+                this.bundleDenominations[bundle] = i;
+                this.bundleSizes[bundle] = bundleSize;
+                this.bundleCents[bundle] = bundleSize * this.cents[i];
+                remaining -= bundleSize;
+                bundle++;
+            }
+        }
+    }
+
+    /**
+     * Gets the greatest common divisor of the denominations that have at least
+     * one chip. Any total that can be made from the chips is a multiple of it.
+     *
+     * @return the greatest common divisor, or 0 if there are no chips.
+     */
+    public long getGreatestCommonDivisor() {
+        long divisor = 0;
+        for (int i = 0; i < this.cents.length && divisor != 1; i++)
+            if (this.quantities[i] > 0)
+                divisor = gcd(divisor, this.cents[i]);
+        return divisor;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Gets a copy of the inventory with every amount divided by the divisor,
+     * so that a solver can work in units of the divisor instead of cents.
+     *
+     * @param divisor a common divisor of the denominations that have at least one chip.
+     * @return the divided inventory.
+     */
+    public Inventory divide(long divisor) {
+        Contract.requires(divisor > 0, "Divisor must be > 0, Actual: %s", divisor);
+        for (int i = 0; i < this.cents.length; i++)
+            Contract.requires(this.quantities[i] == 0 || this.cents[i] % divisor == 0,
+                    "Divisor %s must divide every denomination, Actual: %s", divisor, this.cents[i]);
+        return divisor == 1 ? this : new Inventory(this, divisor);
+    }
+
+    /**
+     * Gets a copy of the inventory with count chips of every denomination
+     * taken out, e.g. to hand out one of each denomination up front.
+     *
+     * @param count the number of chips of every denomination to take out.
+     * @return the reduced inventory.
+     */
+    public Inventory reserve(int count) {
+        Contract.requires(count >= 0, "Count must be >= 0, Actual: %s", count);
+        Contract.requires(count <= getMinimumQuantity(),
+                "Every denomination must have at least %s chips", count);
+        return count == 0 ? this : new Inventory(this, count);
+    }
+
+    /**
+     * Gets the smallest quantity of any denomination.
+     *
+     * @return the smallest quantity, or 0 if there are no denominations.
+     */
+    public int getMinimumQuantity() {
+        if (this.quantities.length == 0)
+            return 0;
+        int minimum = Integer.MAX_VALUE;
+        for (int quantity : this.quantities)
+            minimum = Math.min(minimum, quantity);
+        return minimum;
+    }
+
+    /**
+     * Gets the value of one of each denomination in units of the inventory.
+     *
+     * @return the sum of the denominations.
+     */
+    public long getDenominationTotal() {
+        long total = 0;
+        for (long value : this.cents)
+            total += value;
+        return total;
+    }
+
+    /**
+     * Gets the value of one unit of the amounts in this inventory in cents,
+     * this is 1 unless the inventory has been divided.
+     *
+     * @return the value of one unit in cents.
+     */
+    public long getUnit() {
+        return this.unit;
+    }
+
+    /**
+     * Gets the number of bundles a quantity is split into.
+     */
+    private static int bundleCount(int quantity) {
+        int count = 0;
+        for (int size = 1; quantity > 0; size <<= 1) {
+            quantity -= Math.min(size, quantity);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of distinct denominations.
+     *
+     * @return the number of distinct denominations.
+     */
+    public int size() {
+        return this.cents.length;
+    }
+
+    /**
+     * Gets the denomination at the specified index, e.g: $2.00.
+     *
+     * @param i the index of the denomination.
+     * @return the denomination at the specified index.
+     */
+    public BigDecimal getDenomination(int i) {
+        if (this.denominations == null)
+            return BigDecimal.valueOf(this.denominationCents[i], 2).setScale(this.scales[i]);
+        return this.denominations[i];
+    }
+
+    /**
+     * Gets the number of decimal places the denomination at the specified
+     * index was written with, e.g: 2 for $2.00 and 0 for $2.
+     *
+     * @param i the index of the denomination.
+     * @return the scale of the denomination.
+     */
+    public int getScale(int i) {
+        return this.scales[i];
+    }
+
+    /**
+     * Gets the denomination at the specified index in cents (in units of
+     * getUnit() cents).
+     *
+     * @param i the index of the denomination.
+     * @return the denomination in cents.
+     */
+    public long getCents(int i) {
+        return this.cents[i];
+    }
+
+    /**
+     * Gets the quantity of chips of the denomination at the specified index.
+     *
+     * @param i the index of the denomination.
+     * @return the quantity of chips.
+     */
+    public int getQuantity(int i) {
+        return this.quantities[i];
+    }
+
+    /**
+     * Gets a copy of the denominations in cents, sorted in ascending order.
+     *
+     * @return the denominations in cents.
+     */
+    public long[] getCents() {
+        return this.cents.clone();
+    }
+
+    /**
+     * Gets a copy of the quantity of chips of each denomination.
+     *
+     * @return the quantity of chips of each denomination.
+     */
+    public int[] getQuantities() {
+        return this.quantities.clone();
+    }
+
+    /**
+     * Gets the total number of bundles over all denominations.
+     *
+     * @return the total number of bundles.
+     */
+    public int getBundleCount() {
+        return this.bundleSizes.length;
+    }
+
+    /**
+     * Gets the index of the first bundle of the specified denomination.
+     * The bundles of denomination i are [getFirstBundle(i), getFirstBundle(i + 1)).
+     *
+     * @param i the index of the denomination, or size() for the end.
+     * @return the index of the first bundle.
+     */
+    public int getFirstBundle(int i) {
+        return this.firstBundle[i];
+    }
+
+    /**
+     * Gets the index of the denomination of the chips in the bundle.
+     *
+     * @param bundle the index of the bundle.
+     * @return the index of the denomination.
+     */
+    public int getBundleDenomination(int bundle) {
+        return this.bundleDenominations[bundle];
+    }
+
+    /**
+     * Gets the number of chips in the bundle.
+     *
+     * @param bundle the index of the bundle.
+     * @return the number of chips in the bundle.
+     */
+    public int getBundleSize(int bundle) {
+        return this.bundleSizes[bundle];
+    }
+
+    /**
+     * Gets the total value of the bundle in cents (in units of getUnit() cents).
+     *
+     * @param bundle the index of the bundle.
+     * @return the total value of the bundle in cents.
+     */
+    public long getBundleCents(int bundle) {
+        return this.bundleCents[bundle];
+    }
+}
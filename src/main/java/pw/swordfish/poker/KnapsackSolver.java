@@ -0,0 +1,308 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class KnapsackSolver {
+    public static final int NO_SOLUTION = -1;
+    private long cells;
+
+    /**
+     * Gets the number of table cells that were evaluated on the last
+     * invocation of solve.
+     *
+     * @return the number of table cells.
+     */
+    public long getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Solves the bounded knapsack problem for the inventory.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents.
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination of the inventory to hand out.
+     */
+    public int[] solve(Inventory inventory, long buyIn) {
+        return solve(inventory.getCents(), inventory.getQuantities(), buyIn);
+    }
+
+    /**
+     * Solves the bounded knapsack problem for the inventory, adding the cells
+     * to the context. If the context is timed the clock is checked before each
+     * denomination is added to the table, so the solve can run over by the
+     * time of one denomination, and if the timeout passes the context is no
+     * longer proven and there is no distribution.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents.
+     * @param context   the state of this solve.
+     * @return null if there is no solution or the solve ran out of time,
+     *         otherwise the quantity of each denomination of the inventory
+     *         to hand out.
+     */
+    int[] solve(Inventory inventory, long buyIn, SolveContext context) {
+        int[] solution = table(inventory.getCents(), inventory.getQuantities(), buyIn, context);
+        context.nodes += this.cells;
+        return solution;
+    }
+
+    /**
+     * Solves the bounded knapsack problem "maximum number of chips that sum
+     * exactly to the buy in" in O(denominations * buyIn) time.
+     * <p/>
+     * The distribution with the most chips is returned, and ties between
+     * distributions with the same number of chips go to the one with more
+     * chips of the smallest denomination, then of the next smallest and so on.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param quantities    the quantity available of each denomination.
+     * @param buyIn         the buy in in cents.
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination to hand out.
+     */
+    public int[] solve(long[] denominations, int[] quantities, long buyIn) {
+        return table(denominations, quantities, buyIn, null);
+    }
+
+    /**
+     * Checks the arguments, fills the table and walks the choices back.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param quantities    the quantity available of each denomination.
+     * @param buyIn         the buy in in cents.
+     * @param context       the state of a timed solve, or null if the solve isn't timed.
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination to hand out.
+     */
+    private int[] table(long[] denominations, int[] quantities, long buyIn, SolveContext context) {
+        Contract.requires(denominations != null && quantities != null, "Denominations and quantities must not be null");
+        Contract.requires(denominations.length == quantities.length,
+                "Expected %s quantities, Actual: %s", denominations.length, quantities.length);
+        Contract.requires(buyIn >= 0 && buyIn < Integer.MAX_VALUE, "Buy in must be >= 0 and < %s cents", Integer.MAX_VALUE);
+        for (int i = 0; i < denominations.length; i++) {
+            Contract.requires(denominations[i] > 0, "Denomination must be > 0 cents, Actual: %s", denominations[i]);
+            Contract.requires(quantities[i] >= 0, "Quantity must be >= 0, Actual: %s", quantities[i]);
+        }
+
+        int target = (int) buyIn;
+        int[][] choices = new int[denominations.length][];
+        int[] chips = fill(denominations, quantities, target, choices, context);
+        if (chips == null || chips[target] == NO_SOLUTION)
+            return null;
+        return reconstruct(denominations, choices, target);
+    }
+
+    /**
+     * Fills the table of the maximum number of chips that sum exactly to
+     * every total up to the target. Since the table of a smaller target is
+     * the start of the table of a larger one, a single fill answers every
+     * buy in up to the target.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param quantities    the quantity available of each denomination.
+     * @param target        the largest total in cents.
+     * @param choices       filled with the number of chips of each denomination
+     *                      selected for each total, null for denominations that
+     *                      are never selected.
+     * @return the maximum number of chips for each total, NO_SOLUTION if the
+     *         total can't be made.
+     */
+    int[] fill(long[] denominations, int[] quantities, int target, int[][] choices) {
+        return fill(denominations, quantities, target, choices, null);
+    }
+
+    /**
+     * Fills the table like fill, stopping if the timeout of the context passes.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param quantities    the quantity available of each denomination.
+     * @param target        the largest total in cents.
+     * @param choices       filled with the number of chips of each denomination
+     *                      selected for each total.
+     * @param context       the state of a timed solve, or null if the solve isn't timed.
+     * @return the maximum number of chips for each total, or null if the
+     *         timeout passed before the table was filled.
+     */
+    private int[] fill(long[] denominations, int[] quantities, int target, int[][] choices, SolveContext context) {
+        this.cells = 0;
+        int[] previous = new int[target + 1];
+        int[] current = new int[target + 1];
+        Arrays.fill(previous, NO_SOLUTION);
+        previous[0] = 0;
+
+        // choices[i][t] is the number of chips of denomination i that were
+        // selected to reach the total t. The denominations are processed from
+        // the largest to the smallest so that when we walk the choices back
+        // the smallest denomination is decided first.
+        int[] window = new int[target + 1];
+        for (int i = denominations.length - 1; i >= 0; i--) {
+            if (skipped(denominations[i], quantities[i], target))
+                continue;
+            if (context != null && context.isExpired()) {
+                context.proven = false;
+                return null;
+            }
+            choices[i] = new int[target + 1];
+            add(previous, current, choices[i], denominations[i], quantities[i], target, window);
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous;
+    }
+
+    /**
+     * Fills the table like fill, but keeps the table after each denomination
+     * so that a later fill whose larger denominations have the same
+     * quantities only has to add the smaller denominations again.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param quantities    the quantity available of each denomination.
+     * @param target        the largest total in cents.
+     * @param choices       the choices of each denomination, the choices above
+     *                      start are kept and the rest are filled.
+     * @param layers        layers[i] is the table after the denominations i and
+     *                      above were added, the layers above start are kept
+     *                      and the rest are filled.
+     * @param start         the largest denomination whose quantity changed
+     *                      since the last fill, denominations.length - 1 if
+     *                      nothing has been filled yet.
+     * @return the maximum number of chips for each total, NO_SOLUTION if the
+     *         total can't be made.
+     */
+    int[] fill(long[] denominations, int[] quantities, int target, int[][] choices, int[][] layers, int start) {
+        this.cells = 0;
+        int[] previous;
+        if (start + 1 < denominations.length) {
+            previous = layers[start + 1];
+        } else {
+            previous = new int[target + 1];
+            Arrays.fill(previous, NO_SOLUTION);
+            previous[0] = 0;
+        }
+
+        int[] window = new int[target + 1];
+        for (int i = start; i >= 0; i--) {
+            if (skipped(denominations[i], quantities[i], target)) {
+                // the table doesn't change so it is shared with the layer above
+                choices[i] = null;
+                layers[i] = previous;
+                continue;
+            }
+            if (choices[i] == null)
+                choices[i] = new int[target + 1];
+            // a layer that was shared with the layer above can't be filled in place
+            if (layers[i] == null || layers[i] == previous)
+                layers[i] = new int[target + 1];
+            add(previous, layers[i], choices[i], denominations[i], quantities[i], target, window);
+            previous = layers[i];
+        }
+        return previous;
+    }
+
+    /**
+     * Gets a value indicating whether the denomination can't be selected for any total.
+     */
+    private static boolean skipped(long denomination, int quantity, int target) {
+        // the public methods and the inventory have already checked these
+        Contract.invariant(denomination > 0, "Denomination must be > 0 cents, Actual: %s", denomination);
+        Contract.invariant(quantity >= 0, "Quantity must be >= 0, Actual: %s", quantity);
+        return denomination > target || quantity == 0;
+    }
+
+    /**
+     * Adds a denomination to the table of the previous denominations.
+     *
+     * @param previous     the table of the previous denominations.
+     * @param current      filled with the table including the denomination.
+     * @param choice       filled with the number of chips of the denomination selected for each total.
+     * @param denomination the denomination in cents.
+     * @param available    the quantity available of the denomination.
+     * @param target       the largest total in cents.
+     * @param window       scratch space for the sliding window.
+     */
+    private void add(int[] previous, int[] current, int[] choice, long denomination, int available,
+                     int target, int[] window) {
+        int chip = (int) denomination;
+        int quantity = (int) Math.min(available, target / denomination);
+
+        // for each residue class r (mod chip) keep a sliding window over
+        // the last quantity + 1 totals, the best previous total that we
+        // can extend is the one that maximizes previous[r + j * chip] - j.
+        for (int residue = 0; residue < chip; residue++) {
+            int head = 0;
+            int tail = 0;
+            for (int k = 0, total = residue; total <= target; k++, total += chip) {
+                cells++;
+                if (previous[total] != NO_SOLUTION) {
+                    int value = previous[total] - k;
+                    // on equal values keep the older index since it
+                    // selects more chips of this denomination.
+                    while (tail > head && value(previous, residue, chip, window[tail - 1]) < value)
+                        tail--;
+                    window[tail++] = k;
+                }
+                while (tail > head && window[head] < k - quantity)
+                    head++;
+
+                if (tail == head) {
+                    current[total] = NO_SOLUTION;
+                } else {
+                    int j = window[head];
+                    current[total] = value(previous, residue, chip, j) + k;
+                    choice[total] = k - j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks the choices back from the total, deciding the smallest
+     * denomination first.
+     *
+     * @param denominations the denominations in cents, sorted in ascending order.
+     * @param choices       the choices that were filled with the table.
+     * @param total         a total that can be made.
+     * @return the quantity of each denomination to hand out.
+     */
+    static int[] reconstruct(long[] denominations, int[][] choices, int total) {
+        int[] result = new int[denominations.length];
+        int remaining = total;
+        for (int i = 0; i < denominations.length; i++) {
+            if (choices[i] == null)
+                continue;
+            result[i] = choices[i][remaining];
+            remaining -= result[i] * (int) denominations[i];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the value of the window entry j, previous[r + j * chip] - j.
+     */
+    private static int value(int[] previous, int residue, int chip, int j) {
+        return previous[residue + j * chip] - j;
+    }
+}
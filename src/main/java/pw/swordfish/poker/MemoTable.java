@@ -0,0 +1,138 @@
+package pw.swordfish.poker;
+
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class MemoTable {
+    static final int MISSING = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private long[] keys;
+    private int[] values;
+    // a slot is only in use if its stamp matches the current generation,
+    // that way clearing the table doesn't have to touch every slot
+    private int[] stamps;
+    private int generation = 1;
+    private int size;
+
+    /**
+     * Creates a new memo table with the default capacity.
+     */
+    MemoTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new memo table.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two.
+     */
+    MemoTable(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.keys = new long[slots];
+        this.values = new int[slots];
+        this.stamps = new int[slots];
+    }
+
+    /**
+     * Gets the number of entries in the table.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every entry from the table but keeps the storage
+     * so that it can be reused.
+     */
+    void clear() {
+        this.size = 0;
+        if (++this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+    }
+
+    /**
+     * Gets the value for the key.
+     *
+     * @param key the key to look up.
+     * @return the value or MISSING if the key isn't in the table.
+     */
+    int get(long key) {
+        int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; this.stamps[slot] == this.generation; slot = (slot + 1) & mask)
+            if (this.keys[slot] == key)
+                return this.values[slot];
+        return MISSING;
+    }
+
+    /**
+     * Sets the value for the key.
+     *
+     * @param key   the key to set.
+     * @param value the value of the key.
+     */
+    void put(long key, int value) {
+        if ((this.size + 1) * 2 > this.keys.length)
+            resize();
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.stamps[slot] == this.generation) {
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.stamps[slot] = this.generation;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+    }
+
+    /**
+     * Doubles the number of slots and reinserts the entries.
+     */
+    private void resize() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        int[] oldStamps = this.stamps;
+        int oldGeneration = this.generation;
+
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new int[oldKeys.length * 2];
+        this.stamps = new int[oldKeys.length * 2];
+        this.generation = 1;
+        this.size = 0;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldStamps[i] == oldGeneration)
+                put(oldKeys[i], oldValues[i]);
+    }
+
+    /**
+     * Mixes the bits of the key so that keys which only differ in
+     * their high bits don't collide.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
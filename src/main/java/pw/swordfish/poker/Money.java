@@ -0,0 +1,213 @@
+package pw.swordfish.poker;
+
+import java.math.BigDecimal;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+    private static final int CENTS_PER_DOLLAR = 100;
+    private final long cents;
+
+    /**
+     * Creates a new amount of money.
+     *
+     * @param cents the amount in cents.
+     */
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Gets an amount of money in cents.
+     *
+     * @param cents the amount in cents.
+     * @return the amount of money.
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Gets an amount of money from a dollar amount, e.g. 1.25 is 125 cents.
+     *
+     * @param amount the dollar amount.
+     * @return the amount of money.
+     * @throws ArithmeticException if the amount has a fraction of a cent.
+     */
+    public static Money valueOf(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    /**
+     * Parses a dollar amount such as $10, 10.5 or $0.25 directly into cents.
+     *
+     * @param input the dollar amount to parse.
+     * @return the amount of money.
+     * @throws NumberFormatException if the input isn't a dollar amount.
+     * @throws ArithmeticException   if the amount has a fraction of a cent.
+     */
+    public static Money parse(CharSequence input) {
+        return ofCents(parseCents(input, 0, input.length()));
+    }
+
+    /**
+     * Parses a dollar amount such as $10, 10.5 or $0.25 directly into cents
+     * without allocating.
+     *
+     * @param input the characters to parse.
+     * @param start the index of the first character of the amount.
+     * @param end   the index after the last character of the amount.
+     * @return the amount in cents.
+     * @throws NumberFormatException if the input isn't a dollar amount.
+     * @throws ArithmeticException   if the amount has a fraction of a cent.
+     */
+    public static long parseCents(CharSequence input, int start, int end) {
+        int i = start;
+        if (i < end && input.charAt(i) == '$')
+            i++;
+        long dollars = 0;
+        int digits = 0;
+        for (; i < end && isDigit(input.charAt(i)); i++, digits++) {
+            dollars = dollars * 10 + (input.charAt(i) - '0');
+            if (dollars > Long.MAX_VALUE / CENTS_PER_DOLLAR)
+                throw new ArithmeticException("Amount is too large: " + input.subSequence(start, end));
+        }
+        long cents = 0;
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            for (int place = 10; i < end && isDigit(input.charAt(i)); i++, digits++, place /= 10) {
+                int digit = input.charAt(i) - '0';
+                if (place == 0 && digit != 0)
+                    throw new ArithmeticException("Amount cannot include fraction less than 0.01: " +
+                            input.subSequence(start, end));
+                cents += digit * place;
+            }
+        }
+        if (i != end || digits == 0)
+            throw new NumberFormatException("Illegal dollar amount: " + input.subSequence(start, end));
+        return dollars * CENTS_PER_DOLLAR + cents;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Converts a dollar amount to cents.
+     *
+     * @param amount the dollar amount.
+     * @return the amount in cents.
+     * @throws ArithmeticException if the amount has a fraction of a cent.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Converts an amount in cents to dollars, e.g. 125 is 1.25.
+     *
+     * @param cents the amount in cents.
+     * @return the dollar amount with two decimal places.
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Gets the amount in cents.
+     *
+     * @return the amount in cents.
+     */
+    public long getCents() {
+        return this.cents;
+    }
+
+    /**
+     * Gets the amount in dollars.
+     *
+     * @return the amount in dollars with two decimal places.
+     */
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(this.cents);
+    }
+
+    /**
+     * Adds the amounts together.
+     *
+     * @param other the amount to add.
+     * @return the sum of the amounts.
+     */
+    public Money add(Money other) {
+        return ofCents(Math.addExact(this.cents, other.cents));
+    }
+
+    /**
+     * Subtracts the amount from this amount.
+     *
+     * @param other the amount to subtract.
+     * @return the difference of the amounts.
+     */
+    public Money subtract(Money other) {
+        return ofCents(Math.subtractExact(this.cents, other.cents));
+    }
+
+    /**
+     * Multiplies this amount by a quantity.
+     *
+     * @param quantity the quantity to multiply by.
+     * @return the product of the amount and the quantity.
+     */
+    public Money multiply(long quantity) {
+        return ofCents(Math.multiplyExact(this.cents, quantity));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(this.cents, other.cents);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == this.cents;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return (int) (this.cents ^ (this.cents >>> 32));
+    }
+
+    /**
+     * Gets the amount as a dollar string, e.g. $1.25.
+     *
+     * @return the amount as a dollar string.
+     */
+    @Override
+    public String toString() {
+        return "$" + toBigDecimal().toPlainString();
+    }
+}
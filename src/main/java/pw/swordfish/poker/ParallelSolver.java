@@ -0,0 +1,300 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ParallelSolver {
+    private static final int NO_SOLUTION = -1;
+    // subtrees with fewer leaves than this are searched sequentially
+    private static final double SEQUENTIAL_THRESHOLD = Math.log(1 << 14);
+    private final ForkJoinPool pool;
+    private long nodes;
+    private long prunes;
+
+    /**
+     * Creates a new parallel solver that uses all of the available processors.
+     */
+    public ParallelSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new parallel solver.
+     *
+     * @param parallelism the number of threads to search with.
+     */
+    public ParallelSolver(int parallelism) {
+        Contract.requires(parallelism > 0, "Parallelism must be > 0, Actual: %s", parallelism);
+        this.pool = ForkJoinPools.get(parallelism);
+    }
+
+    /**
+     * Gets the number of threads the solver searches with.
+     *
+     * @return the number of threads.
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Gets the number of nodes that were expanded on the last
+     * invocation of solve, over all threads.
+     *
+     * @return the number of nodes.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the number of branches that were cut off by the bound on the
+     * last invocation of solve, over all threads.
+     *
+     * @return the number of pruned branches.
+     */
+    public long getPrunes() {
+        return this.prunes;
+    }
+
+    /**
+     * Finds the maximum number of chips that sum exactly to the buy in with
+     * the same search as the branch and bound solver. The quantities of the
+     * first denominations are split into tasks until the subtrees are small
+     * enough to search sequentially, and every task prunes against the best
+     * number of chips found by any thread.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents (in units of the inventory).
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination of the inventory to hand out.
+     */
+    public int[] solve(Inventory inventory, long buyIn) {
+        SolveContext context = new SolveContext();
+        int[] selected = solve(inventory, buyIn, context);
+        this.nodes = context.nodes;
+        this.prunes = context.prunes;
+        return selected;
+    }
+
+    /**
+     * Finds the maximum number of chips that sum exactly to the buy in, adding
+     * the counters to the context instead of this solver so that the same
+     * solver can be used by concurrent solves.
+     *
+     * @param inventory the chips available.
+     * @param buyIn     the buy in in cents (in units of the inventory).
+     * @param context   the state of this solve.
+     * @return null if there is no solution, otherwise the quantity of each
+     *         denomination of the inventory to hand out.
+     */
+    int[] solve(Inventory inventory, long buyIn, SolveContext context) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(buyIn >= 0, "Buy in must be >= 0, Actual: %s", buyIn);
+        long[] denominations = inventory.getCents();
+        int[] quantities = inventory.getQuantities();
+
+        // the log of the number of leaves below each denomination
+        double[] size = new double[denominations.length + 1];
+        for (int i = denominations.length - 1; i >= 0; i--)
+            size[i] = size[i + 1] + Math.log(quantities[i] + 1.0);
+
+        Search search = new Search(denominations, quantities, size, new AtomicLong(NO_SOLUTION));
+        Result result = this.pool.invoke(new SearchTask(search, 0, buyIn, 0, new int[denominations.length]));
+        context.nodes += result.nodes;
+        context.prunes += result.prunes;
+        return result.selected;
+    }
+
+    /**
+     * The state shared between the tasks of a single solve.
+     */
+    private static final class Search {
+        final long[] denominations;
+        final int[] quantities;
+        final double[] size;
+        final AtomicLong incumbent;
+
+        Search(long[] denominations, int[] quantities, double[] size, AtomicLong incumbent) {
+            this.denominations = denominations;
+            this.quantities = quantities;
+            this.size = size;
+            this.incumbent = incumbent;
+        }
+
+        /**
+         * Gets an upper bound on the number of chips from the denominations
+         * at index and above that can sum to the remaining amount.
+         */
+        int bound(int index, long remaining) {
+            int chips = 0;
+            for (int i = index; i < this.denominations.length; i++) {
+                long denomination = this.denominations[i];
+                if (remaining < denomination)
+                    break;
+                long quantity = Math.min(this.quantities[i], remaining / denomination);
+                chips += quantity;
+                remaining -= quantity * denomination;
+            }
+            return chips;
+        }
+    }
+
+    /**
+     * The best distribution found by a task.
+     */
+    private static final class Result {
+        int chips = NO_SOLUTION;
+        int[] selected;
+        long nodes;
+        long prunes;
+
+        /**
+         * Merges the result of a task that searched after this one, a
+         * distribution with the same number of chips that was found
+         * earlier has more of the smaller chips so it is kept.
+         */
+        void merge(Result other) {
+            if (other.chips > this.chips) {
+                this.chips = other.chips;
+                this.selected = other.selected;
+            }
+            this.nodes += other.nodes;
+            this.prunes += other.prunes;
+        }
+    }
+
+    /**
+     * Searches the quantities of the denominations at index and above.
+     */
+    private static final class SearchTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+        private final Search search;
+        private final int index;
+        private final long remaining;
+        private final int chips;
+        private final int[] selected;
+        private Result result;
+
+        SearchTask(Search search, int index, long remaining, int chips, int[] selected) {
+            this.search = search;
+            this.index = index;
+            this.remaining = remaining;
+            this.chips = chips;
+            this.selected = selected;
+        }
+
+        @Override
+        protected Result compute() {
+            this.result = new Result();
+            if (this.index >= this.search.denominations.length ||
+                    this.search.size[this.index] < SEQUENTIAL_THRESHOLD ||
+                    this.remaining < this.search.denominations[this.index]) {
+                search(this.index, this.remaining, this.chips);
+                return this.result;
+            }
+
+            this.result.nodes++;
+            long denomination = this.search.denominations[this.index];
+            if (pruned(this.chips + this.search.bound(this.index, this.remaining)))
+                return this.result;
+
+            // the largest quantity is searched first on this thread so that the
+            // siblings have an incumbent to prune against before they are forked
+            int quantity = (int) Math.min(this.search.quantities[this.index], this.remaining / denomination);
+            this.result.merge(child(quantity).invoke());
+            if (quantity == 0)
+                return this.result;
+
+            List<SearchTask> tasks = new ArrayList<SearchTask>(quantity);
+            for (int i = quantity - 1; i >= 0; i--)
+                tasks.add(child(i));
+            // the tasks are merged in the order they were created so
+            // that ties are broken the same way as the sequential search
+            for (SearchTask task : invokeAll(tasks))
+                this.result.merge(task.join());
+            return this.result;
+        }
+
+        /**
+         * Creates the task that searches the larger denominations after
+         * choosing the quantity of the denomination at index.
+         */
+        private SearchTask child(int quantity) {
+            int[] selected = this.selected.clone();
+            selected[this.index] = quantity;
+            return new SearchTask(this.search, this.index + 1,
+                    this.remaining - quantity * this.search.denominations[this.index], this.chips + quantity, selected);
+        }
+
+        /**
+         * Gets a value indicating whether a branch with the bound can be cut
+         * off. Another thread's distribution with the same number of chips
+         * may have fewer of the smaller chips, so only strictly better
+         * distributions cut off branches across threads.
+         */
+        private boolean pruned(int bound) {
+            if (bound < this.search.incumbent.get() || bound <= this.result.chips) {
+                this.result.prunes++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Sequentially chooses the quantity of the denomination at
+         * index and then searches the larger denominations.
+         */
+        private void search(int index, long remaining, int chips) {
+            if (remaining == 0) {
+                if (chips > this.result.chips) {
+                    this.result.chips = chips;
+                    this.result.selected = this.selected.clone();
+                    long best;
+                    do {
+                        best = this.search.incumbent.get();
+                    } while (chips > best && !this.search.incumbent.compareAndSet(best, chips));
+                }
+                return;
+            }
+            if (index >= this.search.denominations.length)
+                return;
+
+            this.result.nodes++;
+            long denomination = this.search.denominations[index];
+            if (remaining < denomination)
+                return;
+            if (pruned(chips + this.search.bound(index, remaining)))
+                return;
+
+            int quantity = (int) Math.min(this.search.quantities[index], remaining / denomination);
+            for (int i = quantity; i >= 0; i--) {
+                this.selected[index] = i;
+                search(index + 1, remaining - i * denomination, chips + i);
+            }
+            this.selected[index] = 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class PeopleSweep {
+    /**
+     * The number of chips for a number of people that has no distribution.
+     */
+    public static final int NO_SOLUTION = KnapsackSolver.NO_SOLUTION;
+    private final int minimumPeople;
+    private final Solution[] solutions;
+    private final int fills;
+
+    /**
+     * Creates a sweep of the solutions for each number of people.
+     *
+     * @param minimumPeople the smallest number of people.
+     * @param solutions     the solution for each number of people from the smallest.
+     * @param fills         the number of times the knapsack table was filled.
+     */
+    PeopleSweep(int minimumPeople, Solution[] solutions, int fills) {
+        this.minimumPeople = minimumPeople;
+        this.solutions = solutions;
+        this.fills = fills;
+    }
+
+    /**
+     * Gets the smallest number of people of the sweep.
+     *
+     * @return the smallest number of people.
+     */
+    public int getMinimumPeople() {
+        return this.minimumPeople;
+    }
+
+    /**
+     * Gets the largest number of people of the sweep.
+     *
+     * @return the largest number of people.
+     */
+    public int getMaximumPeople() {
+        return this.minimumPeople + this.solutions.length - 1;
+    }
+
+    /**
+     * Gets the distribution for the number of people.
+     *
+     * @param people the number of people, between the smallest and largest.
+     * @return the distribution, which is unsolved if there is no solution.
+     */
+    public Solution getSolution(int people) {
+        Contract.requires(people >= this.minimumPeople && people <= getMaximumPeople(),
+                "People must be between %s and %s, Actual: %s", this.minimumPeople, getMaximumPeople(), people);
+        return this.solutions[people - this.minimumPeople];
+    }
+
+    /**
+     * Gets the number of chips each person receives.
+     *
+     * @param people the number of people, between the smallest and largest.
+     * @return the number of chips, or NO_SOLUTION if there is no distribution.
+     */
+    public int getChips(int people) {
+        Solution solution = getSolution(people);
+        return solution.isSolved() ? solution.getChips() : NO_SOLUTION;
+    }
+
+    /**
+     * Gets the number of times the knapsack table had to be filled, the
+     * numbers of people between two breakpoints of quantity / people
+     * share a fill.
+     *
+     * @return the number of fills.
+     */
+    public int getFills() {
+        return this.fills;
+    }
+}
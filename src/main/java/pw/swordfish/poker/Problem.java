@@ -0,0 +1,138 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class Problem {
+    private final ChipRoll[] chips;
+    private final int people;
+    private final Money buyIn;
+
+    /**
+     * Creates a new problem, the chip rolls as they were written, the
+     * number of people and the buy in.
+     *
+     * @param chips  the chips to distribute.
+     * @param people the number of people to distribute the chips to.
+     * @param buyIn  the exact chip total that each person should receive.
+     */
+    public Problem(ChipRoll[] chips, int people, Money buyIn) {
+        Contract.requires(chips != null, "ChipRolls must not be null");
+        for (ChipRoll chip : chips)
+            Contract.requires(chip != null, "ChipRoll must not be null");
+        Contract.requires(people > 0, "People must be > 0, Actual: %s", people);
+        Contract.requires(buyIn != null && buyIn.getCents() >= 0, "Buy in must be >= $0.00");
+        this.chips = chips.clone();
+        this.people = people;
+        this.buyIn = buyIn;
+    }
+
+    /**
+     * Gets the chips to distribute.
+     *
+     * @return a copy of the chip rolls.
+     */
+    public ChipRoll[] getChips() {
+        return this.chips.clone();
+    }
+
+    /**
+     * Gets the number of chip rolls.
+     *
+     * @return the number of chip rolls.
+     */
+    public int size() {
+        return this.chips.length;
+    }
+
+    /**
+     * Gets the chip roll at the index, in the order they were written.
+     *
+     * @param i the index of the chip roll.
+     * @return the chip roll.
+     */
+    public ChipRoll getChip(int i) {
+        return this.chips[i];
+    }
+
+    /**
+     * Gets the number of people to distribute the chips to.
+     *
+     * @return the number of people.
+     */
+    public int getPeople() {
+        return this.people;
+    }
+
+    /**
+     * Gets the exact chip total that each person should receive.
+     *
+     * @return the buy in.
+     */
+    public Money getBuyIn() {
+        return this.buyIn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Problem))
+            return false;
+        Problem other = (Problem) o;
+        if (other.people != this.people || !other.buyIn.equals(this.buyIn) || other.chips.length != this.chips.length)
+            return false;
+        for (int i = 0; i < this.chips.length; i++)
+            if (other.chips[i].getQuantity() != this.chips[i].getQuantity() ||
+                    !other.chips[i].getDenomination().equals(this.chips[i].getDenomination()))
+                return false;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 23;
+        for (ChipRoll chip : this.chips)
+            hashCode = hashCode * 37 + chip.hashCode();
+        hashCode = hashCode * 37 + this.people;
+        hashCode = hashCode * 37 + this.buyIn.hashCode();
+        return hashCode;
+    }
+
+    /**
+     * Gets the problem as an input.def, the chips, the number of people
+     * and the buy in on their own lines, e.g. 10/$1.00,5/$0.25\n2\n$5.00.
+     *
+     * @return the problem as an input.def.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < this.chips.length; i++) {
+            if (i > 0)
+                result.append(',');
+            result.append(this.chips[i].getQuantity()).append("/$").append(this.chips[i].getDenomination());
+        }
+        return result.append('\n').append(this.people).append('\n').append(this.buyIn).toString();
+    }
+}
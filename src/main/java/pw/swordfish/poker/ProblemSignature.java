@@ -0,0 +1,85 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.Arrays;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class ProblemSignature {
+    private final long[] cents;
+    private final int[] quantities;
+    private final long buyIn;
+    private final int hashCode;
+
+    /**
+     * Creates the canonical signature of a problem: the denominations of the
+     * inventory in ascending order with duplicates merged, the quantity each
+     * person can receive and the buy in in cents. Problems with the same
+     * signature have the same distribution.
+     *
+     * @param inventory the chips available to a single person.
+     * @param buyIn     the exact chip total that each person should receive.
+     */
+    public ProblemSignature(Inventory inventory, Money buyIn) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(inventory.getUnit() == 1, "Inventory must be in cents, Actual unit: %s", inventory.getUnit());
+        this.cents = inventory.getCents();
+        this.quantities = inventory.getQuantities();
+        this.buyIn = buyIn.getCents();
+
+        int hashCode = 23;
+        hashCode = hashCode * 37 + Arrays.hashCode(this.cents);
+        hashCode = hashCode * 37 + Arrays.hashCode(this.quantities);
+        hashCode = hashCode * 37 + (int) (this.buyIn ^ (this.buyIn >>> 32));
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Gets the buy in in cents.
+     *
+     * @return the buy in in cents.
+     */
+    public long getBuyIn() {
+        return this.buyIn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ProblemSignature))
+            return false;
+        ProblemSignature other = (ProblemSignature) o;
+        return this.hashCode == other.hashCode &&
+                this.buyIn == other.buyIn &&
+                Arrays.equals(this.cents, other.cents) &&
+                Arrays.equals(this.quantities, other.quantities);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+}
@@ -0,0 +1,193 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class Solution {
+    private final Inventory inventory;
+    private final int[] quantities;
+    private final SolveStats stats;
+    private final boolean proven;
+    private final int upperBound;
+    private Distribution distribution;
+
+    /**
+     * Creates a new solution.
+     *
+     * @param inventory  the chips available to a single person.
+     * @param quantities the quantity of each denomination of the inventory,
+     *                   or null if there is no solution.
+     * @param stats      the statistics of the solve.
+     */
+    public Solution(Inventory inventory, int[] quantities, SolveStats stats) {
+        this(inventory, quantities, stats, true, sum(quantities));
+    }
+
+    /**
+     * Creates a new solution of a search that may have been stopped early.
+     *
+     * @param inventory  the chips available to a single person.
+     * @param quantities the quantity of each denomination of the inventory,
+     *                   or null if no distribution was found.
+     * @param stats      the statistics of the solve.
+     * @param proven     true if the distribution is known to be the maximum
+     *                   (or there is known to be no distribution).
+     * @param upperBound the most chips that any distribution can have.
+     */
+    public Solution(Inventory inventory, int[] quantities, SolveStats stats, boolean proven, int upperBound) {
+        Contract.requires(inventory != null, "Inventory must not be null");
+        Contract.requires(stats != null, "Stats must not be null");
+        Contract.requires(quantities == null || quantities.length == inventory.size(),
+                "Quantities must match the inventory");
+        Contract.requires(upperBound >= sum(quantities), "Upper bound must be >= the chips, Actual: %s", upperBound);
+        Contract.requires(!proven || upperBound == sum(quantities), "The upper bound of a proven solution is its chips");
+        this.inventory = inventory;
+        this.quantities = quantities == null ? null : quantities.clone();
+        this.stats = stats;
+        this.proven = proven;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * Gets the inventory that the solution was found for.
+     *
+     * @return the inventory.
+     */
+    public Inventory getInventory() {
+        return this.inventory;
+    }
+
+    /**
+     * Gets a value indicating whether there is a distribution.
+     *
+     * @return true if the buy in can be made from the inventory.
+     */
+    public boolean isSolved() {
+        return this.quantities != null;
+    }
+
+    /**
+     * Gets the quantity of each denomination of the inventory.
+     *
+     * @return null if there is no solution, otherwise a copy of the quantities.
+     */
+    public int[] getQuantities() {
+        return this.quantities == null ? null : this.quantities.clone();
+    }
+
+    /**
+     * Gets the quantity of the denomination at the index of the inventory.
+     *
+     * @param index the index of the denomination.
+     * @return the quantity of the denomination.
+     */
+    public int getQuantity(int index) {
+        Contract.requires(isSolved(), "There is no solution");
+        return this.quantities[index];
+    }
+
+    /**
+     * Gets the total number of chips each person receives.
+     *
+     * @return 0 if there is no solution, otherwise the number of chips.
+     */
+    public int getChips() {
+        return sum(this.quantities);
+    }
+
+    /**
+     * Gets a value indicating whether the solve searched everything, a solve
+     * with a deadline that ran out of time has the best distribution it found
+     * (if any) which may have fewer chips than the maximum.
+     *
+     * @return true if the distribution is the maximum, or there is no distribution.
+     */
+    public boolean isProven() {
+        return this.proven;
+    }
+
+    /**
+     * Gets the most chips that any distribution can have, the difference with
+     * getChips is how far the distribution could be from the maximum.
+     *
+     * @return the chips of the distribution if it is proven, otherwise
+     *         the upper bound on the chips of the maximum.
+     */
+    public int getUpperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * Gets the statistics of the solve.
+     *
+     * @return the statistics of the solve.
+     */
+    public SolveStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Gets the quantity of every denomination of the inventory.
+     *
+     * @return the empty distribution if there is no solution, otherwise
+     *         the quantity of every denomination.
+     */
+    public Distribution getDistribution() {
+        if (this.quantities == null)
+            return Distribution.EMPTY;
+        // the distribution is immutable so a race only creates an extra one
+        Distribution result = this.distribution;
+        if (result == null)
+            this.distribution = result = Distribution.of(this.inventory, this.quantities);
+        return result;
+    }
+
+    /**
+     * Gets the quantity of every denomination of the inventory, the keys
+     * are the denominations as they were written in the chip rolls.
+     *
+     * @return an empty map if there is no solution, otherwise the
+     *         quantity of every denomination.
+     */
+    public HashMap<BigDecimal, Integer> toHashMap() {
+        HashMap<BigDecimal, Integer> selectedChips = new HashMap<BigDecimal, Integer>();
+        if (this.quantities == null)
+            return selectedChips;
+        for (int i = 0; i < this.inventory.size(); i++)
+            selectedChips.put(this.inventory.getDenomination(i), this.quantities[i]);
+        return selectedChips;
+    }
+
+    /**
+     * Gets the number of chips of the quantities.
+     *
+     * @param quantities the quantity of each denomination, or null.
+     * @return 0 if the quantities are null, otherwise the number of chips.
+     */
+    private static int sum(int[] quantities) {
+        int chips = 0;
+        if (quantities != null)
+            for (int quantity : quantities)
+                chips += quantity;
+        return chips;
+    }
+}
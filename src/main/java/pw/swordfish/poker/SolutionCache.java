@@ -0,0 +1,118 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class SolutionCache {
+    // cached in place of null so that problems without
+    // a solution aren't solved again
+    private static final int[] NO_SOLUTION = new int[0];
+    private final int capacity;
+    private final LinkedHashMap<ProblemSignature, int[]> solutions;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new least recently used cache of solutions.
+     *
+     * @param capacity the maximum number of solutions to keep.
+     */
+    public SolutionCache(int capacity) {
+        Contract.requires(capacity > 0, "Capacity must be > 0, Actual: %s", capacity);
+        this.capacity = capacity;
+        this.solutions = new LinkedHashMap<ProblemSignature, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProblemSignature, int[]> eldest) {
+                if (size() <= SolutionCache.this.capacity)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets a value indicating whether the cache has a solution for the problem.
+     * If it does the solution is copied into the result.
+     *
+     * @param signature the signature of the problem.
+     * @param result    holds the solution at index 0, or null if the problem
+     *                  has no solution.
+     * @return true if the problem was in the cache, false otherwise.
+     */
+    public synchronized boolean tryGet(ProblemSignature signature, int[][] result) {
+        int[] solution = this.solutions.get(signature);
+        if (solution == null) {
+            this.misses++;
+            return false;
+        }
+        this.hits++;
+        result[0] = solution == NO_SOLUTION ? null : solution.clone();
+        return true;
+    }
+
+    /**
+     * Adds the solution of the problem to the cache.
+     *
+     * @param signature the signature of the problem.
+     * @param solution  the solution, or null if the problem has no solution.
+     */
+    public synchronized void put(ProblemSignature signature, int[] solution) {
+        this.solutions.put(signature, solution == null ? NO_SOLUTION : solution.clone());
+    }
+
+    /**
+     * Gets the maximum number of solutions the cache keeps.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the number of solutions in the cache.
+     */
+    public synchronized int size() {
+        return this.solutions.size();
+    }
+
+    /**
+     * Gets the number of problems that were found in the cache.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of problems that weren't in the cache.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets the number of solutions that were removed to make room for others.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+}
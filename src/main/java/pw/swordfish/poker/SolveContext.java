@@ -0,0 +1,101 @@
+package pw.swordfish.poker;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+final class SolveContext {
+    long nodes;
+    long prunes;
+    long cacheHits;
+    long cacheMisses;
+    boolean cached;
+    long elapsedNanos;
+    // a timed solve stops searching once the timeout has passed since the start
+    boolean timed;
+    long start;
+    long timeoutNanos;
+    boolean proven = true;
+    int upperBound;
+    private MemoTable memo;
+
+    /**
+     * Creates the state of a single solve, with a memo
+     * table that is only allocated when it is needed.
+     */
+    SolveContext() {
+        this(null);
+    }
+
+    /**
+     * Creates the state of a single solve.
+     *
+     * @param memo the memo table to reuse, or null to allocate one when needed.
+     */
+    SolveContext(MemoTable memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Makes this a timed solve that stops searching once the timeout has passed.
+     *
+     * @param timeoutNanos the time the solve is allowed to take in nanoseconds.
+     */
+    void setTimeout(long timeoutNanos) {
+        this.timed = true;
+        this.start = System.nanoTime();
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Gets a value indicating whether the timeout of a timed solve has passed,
+     * the elapsed time is compared instead of a deadline so a long timeout
+     * can't overflow.
+     *
+     * @return true if the solve is timed and is out of time.
+     */
+    boolean isExpired() {
+        return this.timed && System.nanoTime() - this.start >= this.timeoutNanos;
+    }
+
+    /**
+     * Gets an empty memo table for the memoized search.
+     *
+     * @return an empty memo table.
+     */
+    MemoTable getMemo() {
+        if (this.memo == null)
+            this.memo = new MemoTable();
+        else
+            this.memo.clear();
+        return this.memo;
+    }
+
+    /**
+     * Gets an immutable copy of the counters of this solve.
+     *
+     * @param quantities the result of the solve, or null if there is no solution.
+     * @return the statistics of this solve.
+     */
+    SolveStats toStats(int[] quantities) {
+        int chips = 0;
+        if (quantities != null)
+            for (int quantity : quantities)
+                chips += quantity;
+        return new SolveStats(this.nodes, this.prunes, this.cacheHits, this.cacheMisses, this.cached,
+                this.elapsedNanos, chips);
+    }
+}
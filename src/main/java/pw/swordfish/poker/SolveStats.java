@@ -0,0 +1,125 @@
+package pw.swordfish.poker;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class SolveStats {
+    private final long nodes;
+    private final long prunes;
+    private final long cacheHits;
+    private final long cacheMisses;
+    private final boolean cached;
+    private final long elapsedNanos;
+    private final int chips;
+
+    /**
+     * Creates the statistics of a single solve.
+     *
+     * @param nodes        the number of nodes (or table cells) that were evaluated.
+     * @param prunes       the number of branches that were cut off by a bound.
+     * @param cacheHits    the number of subproblems answered from the memo table.
+     * @param cacheMisses  the number of subproblems that had to be searched.
+     * @param cached       true if the whole solution came from the solution cache.
+     * @param elapsedNanos the time spent solving in nanoseconds.
+     * @param chips        the number of chips each person receives, 0 if there is no solution.
+     */
+    public SolveStats(long nodes, long prunes, long cacheHits, long cacheMisses, boolean cached,
+                      long elapsedNanos, int chips) {
+        this.nodes = nodes;
+        this.prunes = prunes;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.cached = cached;
+        this.elapsedNanos = elapsedNanos;
+        this.chips = chips;
+    }
+
+    /**
+     * Gets the number of nodes that were expanded. For the knapsack
+     * strategy this is the number of table cells evaluated.
+     *
+     * @return the number of nodes.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the number of branches that were cut off by the bound.
+     * Always 0 unless the strategy is branch and bound or parallel.
+     *
+     * @return the number of pruned branches.
+     */
+    public long getPrunes() {
+        return this.prunes;
+    }
+
+    /**
+     * Gets the number of subproblems that were answered from the memo table.
+     * Always 0 unless the strategy is memoized.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return this.cacheHits;
+    }
+
+    /**
+     * Gets the number of subproblems that had to be searched.
+     * Always 0 unless the strategy is memoized.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return this.cacheMisses;
+    }
+
+    /**
+     * Gets a value indicating whether the solution was taken from
+     * the solution cache instead of being solved.
+     *
+     * @return true if the solution was cached.
+     */
+    public boolean isCached() {
+        return this.cached;
+    }
+
+    /**
+     * Gets the time spent solving, including the cache lookup.
+     *
+     * @return the time spent solving in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Gets the size of the result.
+     *
+     * @return the number of chips each person receives, 0 if there is no solution.
+     */
+    public int getChips() {
+        return this.chips;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nodes=%d prunes=%d cacheHits=%d cacheMisses=%d cached=%s elapsed=%dns chips=%d",
+                this.nodes, this.prunes, this.cacheHits, this.cacheMisses, this.cached,
+                this.elapsedNanos, this.chips);
+    }
+}
@@ -0,0 +1,171 @@
+package pw.swordfish.poker;
+
+import pw.swordfish.contracts.Contract;
+import pw.swordfish.metrics.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public final class SolverMetrics implements SolverMetricsMBean {
+    private final AtomicLong solves = new AtomicLong();
+    private final AtomicLong solved = new AtomicLong();
+    private final AtomicLong cachedSolves = new AtomicLong();
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicLong prunes = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong chips = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Adds the statistics of a solve to the totals, solves can be
+     * recorded from any number of threads.
+     *
+     * @param stats the statistics of the solve.
+     */
+    public void record(SolveStats stats) {
+        Contract.requires(stats != null, "Stats must not be null");
+        this.solves.incrementAndGet();
+        if (stats.getChips() > 0)
+            this.solved.incrementAndGet();
+        if (stats.isCached())
+            this.cachedSolves.incrementAndGet();
+        this.nodes.addAndGet(stats.getNodes());
+        this.prunes.addAndGet(stats.getPrunes());
+        this.cacheHits.addAndGet(stats.getCacheHits());
+        this.cacheMisses.addAndGet(stats.getCacheMisses());
+        this.chips.addAndGet(stats.getChips());
+        this.latency.record(stats.getElapsedNanos());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, so that they
+     * can be watched with JConsole, e.g. pw.swordfish.poker:type=SolverMetrics,name=default.
+     *
+     * @param name the name of the metrics.
+     * @return the name the metrics are registered under.
+     * @throws JMException if the metrics can't be registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        Contract.requires(name != null, "Name must not be null");
+        ObjectName objectName = new ObjectName("pw.swordfish.poker:type=SolverMetrics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Gets the time taken by each solve.
+     *
+     * @return the latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    @Override
+    public long getSolves() {
+        return this.solves.get();
+    }
+
+    @Override
+    public long getSolved() {
+        return this.solved.get();
+    }
+
+    @Override
+    public long getCachedSolves() {
+        return this.cachedSolves.get();
+    }
+
+    @Override
+    public long getNodes() {
+        return this.nodes.get();
+    }
+
+    @Override
+    public long getPrunes() {
+        return this.prunes.get();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return this.cacheHits.get();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return this.cacheMisses.get();
+    }
+
+    @Override
+    public long getChips() {
+        return this.chips.get();
+    }
+
+    @Override
+    public double getMeanLatencyMicros() {
+        return this.latency.getMean() / 1000;
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(this.latency.getPercentile(50));
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(this.latency.getPercentile(99));
+    }
+
+    @Override
+    public long getLatencyP999Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(this.latency.getPercentile(99.9));
+    }
+
+    @Override
+    public long getMaxLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(this.latency.getMax());
+    }
+
+    @Override
+    public void reset() {
+        this.solves.set(0);
+        this.solved.set(0);
+        this.cachedSolves.set(0);
+        this.nodes.set(0);
+        this.prunes.set(0);
+        this.cacheHits.set(0);
+        this.cacheMisses.set(0);
+        this.chips.set(0);
+        this.latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("solves=%d solved=%d cached=%d nodes=%d prunes=%d cacheHits=%d cacheMisses=%d latency: %s",
+                getSolves(), getSolved(), getCachedSolves(), getNodes(), getPrunes(),
+                getCacheHits(), getCacheMisses(), this.latency);
+    }
+}
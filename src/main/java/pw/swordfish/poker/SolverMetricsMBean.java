@@ -0,0 +1,90 @@
+package pw.swordfish.poker;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public interface SolverMetricsMBean {
+    /**
+     * Gets the number of solves.
+     */
+    long getSolves();
+
+    /**
+     * Gets the number of solves that had a distribution.
+     */
+    long getSolved();
+
+    /**
+     * Gets the number of solves that were answered from the solution cache.
+     */
+    long getCachedSolves();
+
+    /**
+     * Gets the total number of nodes (or table cells) that were evaluated.
+     */
+    long getNodes();
+
+    /**
+     * Gets the total number of branches that were cut off by a bound.
+     */
+    long getPrunes();
+
+    /**
+     * Gets the total number of subproblems that were answered from a memo table.
+     */
+    long getCacheHits();
+
+    /**
+     * Gets the total number of subproblems that had to be searched.
+     */
+    long getCacheMisses();
+
+    /**
+     * Gets the total number of chips handed out to each person over every solve.
+     */
+    long getChips();
+
+    /**
+     * Gets the mean time of a solve in microseconds.
+     */
+    double getMeanLatencyMicros();
+
+    /**
+     * Gets the median time of a solve in microseconds.
+     */
+    long getLatencyP50Micros();
+
+    /**
+     * Gets the 99th percentile of the time of a solve in microseconds.
+     */
+    long getLatencyP99Micros();
+
+    /**
+     * Gets the 99.9th percentile of the time of a solve in microseconds.
+     */
+    long getLatencyP999Micros();
+
+    /**
+     * Gets the longest time of a solve in microseconds.
+     */
+    long getMaxLatencyMicros();
+
+    /**
+     * Clears the totals and the latencies.
+     */
+    void reset();
+}
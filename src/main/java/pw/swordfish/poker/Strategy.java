@@ -0,0 +1,47 @@
+package pw.swordfish.poker;
+
+/**
+ * This is a a source file belonging to the Solium project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public enum Strategy {
+    /**
+     * Bounded knapsack dynamic program over the buy in in cents,
+     * O(denominations * buyIn).
+     */
+    KNAPSACK,
+    /**
+     * Exhaustive include/skip search over power-of-two bundles of chips,
+     * exponential in the number of bundles.
+     */
+    EXHAUSTIVE,
+    /**
+     * The exhaustive search with each (bundle, remaining) subproblem
+     * memoized, so it is solved at most once.
+     */
+    MEMOIZED,
+    /**
+     * Depth first search over the quantity of each denomination, smallest
+     * denomination first, that cuts off branches which can't beat the best
+     * distribution found so far.
+     */
+    BRANCH_AND_BOUND,
+    /**
+     * The branch and bound search split into fork/join tasks that share
+     * the best number of chips found so far.
+     */
+    PARALLEL
+}
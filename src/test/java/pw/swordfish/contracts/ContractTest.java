@@ -0,0 +1,74 @@
+package pw.swordfish.contracts;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ContractTest {
+    @Test
+    public void contractsThatHoldDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        BigDecimal denomination = new BigDecimal("0.25");
+        long sum = 0;
+        // once to load the classes and allocate their state
+        for (int pass = 0; pass < 2; pass++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 1000; i < 101000; i++) {
+                Contract.requires(i > 0, "Quantity must be > 0");
+                Contract.requires(i > 0, "Quantity must be > 0, Actual: %s", i);
+                Contract.requires(i < Integer.MAX_VALUE, "Expected %s quantities, Actual: %s", i, i + 1L);
+                Contract.requires(i > 0, "Between %s and %s, Actual: %s", 1, i, i);
+                Contract.requires(denomination.signum() > 0, "Denomination must be > $0.00, Actual: %s", denomination);
+                Contract.invariant(i > 0, "Quantity must be > 0, Actual: %s", i);
+                sum += i;
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (pass == 1)
+                // boxing and a varargs array for each call would be megabytes
+                Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 16 * 1024);
+        }
+        Assert.assertTrue(sum > 0);
+    }
+
+    @Test
+    public void messagesAreFormattedWhenAContractFails() {
+        try {
+            Contract.requires(false, "Expected %s quantities, Actual: %s", 3, 4L);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Expected 3 quantities, Actual: 4", e.getMessage());
+        }
+        try {
+            Contract.requires(false, "Buy in must be >= $0.00");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Buy in must be >= $0.00", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invariantsAreCheckedByDefault() {
+        Assert.assertTrue(Contract.INVARIANTS);
+        Contract.invariant(false, "Quantity must be >= 0, Actual: %s", -1);
+    }
+}
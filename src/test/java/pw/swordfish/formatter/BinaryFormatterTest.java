@@ -0,0 +1,120 @@
+package pw.swordfish.formatter;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+import pw.swordfish.poker.ChipSolver;
+import pw.swordfish.poker.Distribution;
+import pw.swordfish.poker.Problem;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BinaryFormatterTest {
+    private static final String[] FRACTIONS = {"", ".0", ".5", ".00", ".05", ".25", ".50"};
+
+    @Test
+    public void problemsRoundTripWithTheText() {
+        Random random = new Random(41);
+        Parser parser = new Parser();
+        ProblemBinaryFormatter formatter = new ProblemBinaryFormatter();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        for (int test = 0; test < 2000; test++) {
+            StringBuilder chips = new StringBuilder();
+            int size = 1 + random.nextInt(8);
+            for (int i = 0; i < size; i++) {
+                if (i > 0)
+                    chips.append(',');
+                chips.append(random.nextInt(100000)).append("/$").append(1 + random.nextInt(random.nextBoolean() ? 10 : 100000))
+                        .append(FRACTIONS[random.nextInt(FRACTIONS.length)]);
+            }
+            String text = chips + "\n" + (1 + random.nextInt(1000)) + "\n$" + random.nextInt(100000) + ".25";
+            String[] lines = text.split("\n");
+            Problem problem = parser.parseProblem(lines[0], lines[1], lines[2]);
+
+            buffer.clear();
+            formatter.write(problem, buffer);
+            Assert.assertEquals(formatter.size(problem), buffer.position());
+            buffer.flip();
+            Problem read = formatter.read(buffer);
+
+            Assert.assertFalse(buffer.hasRemaining());
+            Assert.assertEquals(problem, read);
+            Assert.assertEquals(text, read.toString());
+        }
+    }
+
+    @Test
+    public void distributionsRoundTripWithTheText() {
+        Random random = new Random(43);
+        Parser parser = new Parser();
+        ChipSolver solver = new ChipSolver();
+        DistributionBinaryFormatter formatter = new DistributionBinaryFormatter();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        for (int test = 0; test < 500; test++) {
+            StringBuilder chips = new StringBuilder();
+            int size = 1 + random.nextInt(6);
+            for (int i = 0; i < size; i++) {
+                if (i > 0)
+                    chips.append(',');
+                chips.append(random.nextInt(200)).append("/$").append(random.nextInt(20))
+                        .append(FRACTIONS[1 + random.nextInt(FRACTIONS.length - 1)]);
+            }
+            Distribution distribution;
+            try {
+                distribution = solver.solve(parser.parseChipRolls(chips.toString()), 1 + random.nextInt(4),
+                        parser.parseBuyInMoney("$" + random.nextInt(20))).getDistribution();
+            } catch (IllegalArgumentException e) {
+                // a $0 chip
+                continue;
+            }
+
+            buffer.clear();
+            formatter.write(distribution, buffer);
+            Assert.assertEquals(formatter.size(distribution), buffer.position());
+            buffer.flip();
+            Distribution read = formatter.read(buffer);
+
+            Assert.assertEquals(distribution, read);
+            Assert.assertEquals(distribution.toString(), read.toString());
+        }
+    }
+
+    @Test
+    public void smallValuesTakeOneByte() {
+        DistributionBinaryFormatter formatter = new DistributionBinaryFormatter();
+        Distribution distribution = Distribution.of(new long[]{5, 10, 25, 100}, new int[]{10, 10, 10, 1});
+
+        // the header, and a difference and a count for each denomination
+        Assert.assertEquals(9, formatter.size(distribution));
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void truncatedInputIsRejected() {
+        ProblemBinaryFormatter formatter = new ProblemBinaryFormatter();
+        Problem problem = new Parser().parseProblem("100/$0.25,100/$1.00", "2", "$10.00");
+        ByteBuffer buffer = ByteBuffer.allocate(formatter.size(problem));
+        formatter.write(problem, buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+        formatter.read(buffer);
+    }
+}
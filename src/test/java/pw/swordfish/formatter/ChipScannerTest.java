@@ -0,0 +1,169 @@
+package pw.swordfish.formatter;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.InputOptions;
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Inventory;
+
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ChipScannerTest {
+    private static final String ALPHABET = "0123$./,,19";
+
+    @Test
+    public void scansChipsInOrder() {
+        ChipScanner scanner = new ChipScanner().scan("100/$0.25,3/1,12/$1.5");
+
+        Assert.assertEquals(3, scanner.size());
+        Assert.assertEquals(25, scanner.getCents(0));
+        Assert.assertEquals(100, scanner.getQuantity(0));
+        Assert.assertEquals(100, scanner.getCents(1));
+        Assert.assertEquals(150, scanner.getCents(2));
+        Assert.assertEquals(12, scanner.getQuantity(2));
+        Assert.assertEquals("1.5", scanner.toChipRolls()[2].getDenomination().toString());
+    }
+
+    @Test
+    public void acceptsTheSameChipsAsTheOption() {
+        Random random = new Random(29);
+        InputOptions options = new InputOptions();
+        ChipFormatter formatter = new ChipFormatter();
+        ChipScanner scanner = new ChipScanner();
+        for (int test = 0; test < 200000; test++) {
+            StringBuilder input = new StringBuilder();
+            int length = 1 + random.nextInt(14);
+            for (int i = 0; i < length; i++)
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            String chips = input.toString();
+
+            ChipRoll[] expected = null;
+            if (options.getChips().tryParse(chips)) {
+                try {
+                    String[] split = chips.split(",");
+                    expected = new ChipRoll[split.length];
+                    for (int i = 0; i < split.length; i++)
+                        expected[i] = formatter.deserialize(split[i]);
+                } catch (IllegalArgumentException e) {
+                    expected = null;
+                }
+            }
+
+            ChipRoll[] actual;
+            try {
+                actual = scanner.scan(chips).toChipRolls();
+            } catch (ScanException e) {
+                actual = null;
+            }
+
+            Assert.assertEquals(chips, expected == null, actual == null);
+            if (expected != null) {
+                Assert.assertEquals(chips, expected.length, actual.length);
+                for (int i = 0; i < expected.length; i++) {
+                    Assert.assertEquals(chips, expected[i].getQuantity(), actual[i].getQuantity());
+                    Assert.assertEquals(chips, expected[i].getDenomination(), actual[i].getDenomination());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void inventoryMatchesTheChipRolls() {
+        Random random = new Random(37);
+        ChipScanner scanner = new ChipScanner();
+        for (int test = 0; test < 2000; test++) {
+            StringBuilder chips = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                if (i > 0)
+                    chips.append(',');
+                // few denominations so that some of them are merged
+                chips.append(random.nextInt(100)).append("/$").append(1 + random.nextInt(4));
+                int scale = random.nextInt(3);
+                if (scale > 0)
+                    chips.append(scale == 1 ? ".5" : ".50");
+            }
+            int people = 1 + random.nextInt(5);
+
+            Inventory expected = new Inventory(scanner.scan(chips).toChipRolls(), people);
+            Inventory actual = scanner.toInventory(people);
+            Assert.assertEquals(chips.toString(), expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(chips.toString(), expected.getCents(i), actual.getCents(i));
+                Assert.assertEquals(chips.toString(), expected.getQuantity(i), actual.getQuantity(i));
+                Assert.assertEquals(chips.toString(), expected.getDenomination(i), actual.getDenomination(i));
+                Assert.assertEquals(chips.toString(), expected.getScale(i), actual.getScale(i));
+            }
+        }
+    }
+
+    @Test
+    public void acceptsTheSameAmountsAsTheOption() {
+        Random random = new Random(31);
+        InputOptions options = new InputOptions();
+        for (int test = 0; test < 100000; test++) {
+            StringBuilder input = new StringBuilder();
+            int length = 1 + random.nextInt(7);
+            for (int i = 0; i < length; i++)
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length() - 3)));
+            String amount = input.toString();
+
+            long cents;
+            try {
+                cents = ChipScanner.scanAmount(amount);
+            } catch (ScanException e) {
+                cents = -1;
+            }
+            Assert.assertEquals(amount, options.getBuyIn().tryParse(amount), cents >= 0);
+            if (cents >= 0)
+                Assert.assertEquals(amount, new CurrencyFormatter().deserializeMoney(amount).getCents(), cents);
+        }
+    }
+
+    @Test
+    public void reportsTheOffsetOfTheError() {
+        assertOffset("100/$0.25,3$1.00", 11);
+        assertOffset("100/$0.25,", 10);
+        assertOffset("100/$0.255", 9);
+        assertOffset("100/$.25", 5);
+        assertOffset("100/$0.00", 4);
+        assertOffset("99999999999/$1", 0);
+    }
+
+    @Test
+    public void scansCounts() {
+        Assert.assertEquals(10, ChipScanner.scanCount("10"));
+        try {
+            ChipScanner.scanCount("1a");
+            Assert.fail();
+        } catch (ScanException e) {
+            Assert.assertEquals(1, e.getErrorOffset());
+        }
+    }
+
+    private static void assertOffset(String chips, int offset) {
+        try {
+            new ChipScanner().scan(chips);
+            Assert.fail(chips);
+        } catch (ScanException e) {
+            Assert.assertEquals(chips, offset, e.getErrorOffset());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package pw.swordfish.formatter;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.poker.ChipRoll;
+import pw.swordfish.poker.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class CurrencyFormatterTest {
+    private static NumberFormat canada() {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.CANADA);
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        return format;
+    }
+
+    @Test
+    public void formatsCentsLikeTheNumberFormat() {
+        NumberFormat expected = canada();
+        CurrencyFormatter formatter = new CurrencyFormatter();
+        long[] edges = {0, 1, 5, 99, 100, 999, 9999, 10000, 99999, 100000, 123456789,
+                1000000, 1000001, -1, -100, -123456, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long cents : edges) {
+            String text = expected.format(Money.toBigDecimal(cents));
+            Assert.assertEquals(text, formatter.format(cents));
+            Assert.assertEquals(text, formatter.appendTo(cents, new StringBuilder()).toString());
+        }
+
+        Random random = new Random(24);
+        for (int i = 0; i < 100000; i++) {
+            long cents = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(2000000) - 1000;
+            Assert.assertEquals(expected.format(Money.toBigDecimal(cents)), formatter.format(cents));
+        }
+    }
+
+    @Test
+    public void roundsDecimalsLikeTheNumberFormat() {
+        NumberFormat expected = canada();
+        CurrencyFormatter formatter = new CurrencyFormatter();
+        Random random = new Random(2024);
+        for (int i = 0; i < 100000; i++) {
+            BigDecimal amount = new BigDecimal(BigInteger.valueOf(random.nextInt() / (1 + random.nextInt(1000))),
+                    random.nextInt(7) - 1);
+            Assert.assertEquals(amount.toString(), expected.format(amount), formatter.serialize(amount));
+        }
+        String[] edges = {"-0.001", "-0.005", "0.005", "0.015", "0.025", "-0.0051", "1E+30", "-9.999"};
+        for (String edge : edges)
+            Assert.assertEquals(edge, expected.format(new BigDecimal(edge)), formatter.serialize(new BigDecimal(edge)));
+    }
+
+    @Test
+    public void cachesCommonDenominations() {
+        CurrencyFormatter formatter = new CurrencyFormatter();
+        Assert.assertSame(formatter.format(25), formatter.format(25));
+        Assert.assertSame(formatter.format(500000), formatter.serialize(Money.ofCents(500000)));
+        Assert.assertEquals("5,000.00", formatter.format(500000));
+        Assert.assertEquals("0.25", formatter.serialize(new BigDecimal("0.250")));
+    }
+
+    @Test
+    public void honoursAnInjectedNumberFormat() {
+        CurrencyFormatter formatter = new CurrencyFormatter(NumberFormat.getNumberInstance(Locale.GERMANY));
+        Assert.assertEquals("1.234,5", formatter.serialize(new BigDecimal("1234.5")));
+        Assert.assertEquals("1.234,5", formatter.format(123450));
+    }
+
+    @Test
+    public void serializesChipRolls() {
+        ChipFormatter formatter = new ChipFormatter();
+        Assert.assertEquals("$1,000.50 - 12", formatter.serialize(new ChipRoll(12, new BigDecimal("1000.5"))));
+    }
+
+    @Test
+    public void rejectsMalformedChipRolls() {
+        ChipFormatter formatter = new ChipFormatter();
+        try {
+            formatter.deserialize("12/$1.00/3");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Illegal chip specification, Expected length: 2, Actual length: 3", e.getMessage());
+        }
+        try {
+            formatter.deserialize("12/$0.00");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Illegal chip specification: 12/$0.00, " +
+                    "Expected denomination: > $0.00, Actual denomination: 0.00", e.getMessage());
+        }
+    }
+
+    @Test
+    public void formatsFromManyThreads() throws InterruptedException {
+        final CurrencyFormatter formatter = new CurrencyFormatter();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    NumberFormat expected = canada();
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20000; i++) {
+                        BigDecimal amount = BigDecimal.valueOf(random.nextInt(), random.nextInt(4));
+                        String text = formatter.serialize(amount);
+                        if (!text.equals(expected.format(amount)))
+                            failure.compareAndSet(null, amount + " was " + text);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        Assert.assertNull(failure.get(), failure.get());
+    }
+}
@@ -0,0 +1,160 @@
+package pw.swordfish.main;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BatchRunnerTest {
+    @Test
+    public void recordsAreSolvedInInputOrder() throws IOException {
+        String input =
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00\n" +
+                "10\n" +
+                "$10.00\n" +
+                "\n" +
+                "20/$4,10/$99,10/$100,10/$106\n" +
+                "10\n" +
+                "106.00\n" +
+                "---\n" +
+                "10/$1.00\n" +
+                "2\n" +
+                "$5.50\n" +
+                "\n\n" +
+                "not a problem\n";
+        String expected =
+                "[1] OK\n" +
+                "$2.00 - 0\n" +
+                "$1.00 - 1\n" +
+                "$0.50 - 10\n" +
+                "$0.25 - 10\n" +
+                "$0.10 - 10\n" +
+                "$0.05 - 10\n\n" +
+                "[2] OK\n" +
+                "$106 - 1\n" +
+                "$100 - 0\n" +
+                "$99 - 0\n" +
+                "$4 - 0\n\n" +
+                "[3] NO SOLUTION\n\n" +
+                "[4] INVALID\n\n";
+
+        BatchRunner runner = new BatchRunner();
+        StringBuilder output = new StringBuilder();
+        runner.run(new BufferedReader(new StringReader(input)), output);
+
+        Assert.assertEquals(expected, output.toString());
+        Assert.assertEquals(4, runner.getRecords());
+        Assert.assertEquals(2, runner.getSolved());
+    }
+
+    @Test
+    public void everyDenominationRecordsAreSolved() throws IOException {
+        String input =
+                "B1\n" +
+                "100/$0.25,100/$1.00,100/$5.00\n" +
+                "2\n" +
+                "$10.00\n" +
+                "\n" +
+                "B1\n" +
+                "100/$0.25,100/$1.00,1/$5.00\n" +
+                "2\n" +
+                "$10.00\n";
+        String expected =
+                "[1] OK\n" +
+                "$5.00 - 1\n" +
+                "$1.00 - 1\n" +
+                "$0.25 - 16\n\n" +
+                "[2] NO SOLUTION\n\n";
+
+        BatchRunner runner = new BatchRunner();
+        StringBuilder output = new StringBuilder();
+        runner.run(new BufferedReader(new StringReader(input)), output);
+
+        Assert.assertEquals(expected, output.toString());
+    }
+
+    @Test
+    public void colourRecordsAreSolved() throws IOException {
+        String input =
+                "B2\n" +
+                "10/Red,20/Blue\n" +
+                "2\n" +
+                "$1.00\n";
+        String expected =
+                "[1] OK\n" +
+                "$0.10 (Red) - 5\n" +
+                "$0.05 (Blue) - 10\n\n";
+
+        BatchRunner runner = new BatchRunner();
+        StringBuilder output = new StringBuilder();
+        runner.run(new BufferedReader(new StringReader(input)), output);
+
+        Assert.assertEquals(expected, output.toString());
+    }
+
+    @Test
+    public void mappedFileMatchesTheReader() throws IOException {
+        String[] records = {
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00\n10\n$10.00\n",
+                "20/$4,10/$99,10/$100,10/$106\r\n10\r\n106.00\r\n",
+                "B1\n100/$0.25,100/$1.00,100/$5.00\n2\n$10.00\n",
+                "B2\n10/Red,20/Blue\n2\n$1.00\n",
+                "10/$1.00\n2\n$5.50\n",
+                "10/$1.00\n0\n$5.00\n",
+                "0/$0.00\n2\n$5.00\n",
+                "not a problem\n",
+        };
+        String[] separators = {"\n", "---\n", "\r\n", "  \n\n"};
+        Random random = new Random(37);
+        File file = File.createTempFile("problems", ".def");
+        try {
+            for (int test = 0; test < 200; test++) {
+                StringBuilder input = new StringBuilder();
+                int count = random.nextInt(12);
+                for (int i = 0; i < count; i++)
+                    input.append(records[random.nextInt(records.length)])
+                            .append(separators[random.nextInt(separators.length)]);
+                if (count > 0 && random.nextBoolean())
+                    input.setLength(input.length() - 1);
+                Writer writer = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+                writer.write(input.toString());
+                writer.close();
+
+                StringBuilder expected = new StringBuilder();
+                new BatchRunner().run(new BufferedReader(new StringReader(input.toString())), expected);
+                BatchRunner runner = new BatchRunner();
+                runner.setWindowSize(1 + random.nextInt(64));
+                StringBuilder actual = new StringBuilder();
+                runner.run(file, actual);
+
+                Assert.assertEquals(input.toString(), expected.toString(), actual.toString());
+            }
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package pw.swordfish.main;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class SolveServerTest {
+    private SolveServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        this.server = new SolveServer(0);
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void postedRecordIsSolved() throws IOException {
+        String[] response = post("/solve", "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00\n10\n$10.00\n");
+
+        Assert.assertEquals("200", response[0]);
+        Assert.assertEquals(
+                "$2.00 - 0\n" +
+                "$1.00 - 1\n" +
+                "$0.50 - 10\n" +
+                "$0.25 - 10\n" +
+                "$0.10 - 10\n" +
+                "$0.05 - 10\n", response[1]);
+    }
+
+    @Test
+    public void statusCodesMatchTheRecord() throws IOException {
+        Assert.assertEquals("422", post("/solve", "10/$1.00\n2\n$5.50\n")[0]);
+        Assert.assertEquals("400", post("/solve", "not a problem\n")[0]);
+        Assert.assertEquals("200", post("/solve", "B1\n10/$1.00\n2\n$5.00\n")[0]);
+        Assert.assertEquals("422", post("/solve", "B1\n10/$1.00,1/$5.00\n2\n$5.00\n")[0]);
+    }
+
+    @Test
+    public void largeBodyIsRejected() throws IOException {
+        String record = "10/$1.00\n2\n$5.00\n";
+        StringBuilder body = new StringBuilder(record);
+        while (body.length() <= SolveServer.DEFAULT_MAX_BODY)
+            body.append('\n');
+        Assert.assertEquals("413", post("/solve", body.toString())[0]);
+
+        this.server.setMaxBody(record.length());
+        Assert.assertEquals("200", post("/solve", record)[0]);
+        Assert.assertEquals("413", post("/solve", record + "\n")[0]);
+    }
+
+    @Test(timeout = 30000)
+    public void solveStopsAtTheBudget() throws IOException {
+        // a budget of 1ns has passed by the time the search first checks the clock
+        this.server.setBudget(1, TimeUnit.NANOSECONDS);
+        String[] response = post("/solve", "1/$0.01,1000000/$0.03,1000000/$0.06,1000000/$0.09,1000000/$0.12," +
+                "1000000/$0.15,1000000/$0.18,1000000/$0.21,1000000/$0.24,1000000/$0.27\n1\n$100000.02\n");
+
+        Assert.assertEquals("422", response[0]);
+        Assert.assertEquals("false", response[2]);
+        Assert.assertEquals(null, post("/solve", "10/$1.00\n2\n$5.00\n")[2]);
+    }
+
+    @Test(timeout = 30000)
+    public void concurrentRequestsAreTimed() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String[]>> responses = new ArrayList<Future<String[]>>();
+            for (int i = 0; i < 200; i++) {
+                final int people = 1 + i % 10;
+                responses.add(clients.submit(new Callable<String[]>() {
+                    @Override
+                    public String[] call() throws IOException {
+                        return post("/solve", "100/$0.25,100/$1.00,100/$5.00\n" + people + "\n$5.00\n");
+                    }
+                }));
+            }
+            for (Future<String[]> response : responses)
+                Assert.assertEquals("200", response.get()[0]);
+        } finally {
+            clients.shutdown();
+        }
+
+        Assert.assertEquals(200, this.server.getLatency().getCount());
+        Assert.assertTrue(this.server.getLatency().getPercentile(99) > 0);
+        Assert.assertTrue(post("/stats", "")[1].startsWith("count=200 "));
+    }
+
+    /**
+     * Posts the body to the server and gets the status code, response body
+     * and the X-Solve-Proven header.
+     */
+    private String[] post(String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + this.server.getPort() + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        OutputStream output = connection.getOutputStream();
+        output.write(body.getBytes("UTF-8"));
+        output.close();
+
+        int status = connection.getResponseCode();
+        InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = input.read(buffer)) != -1)
+            response.write(buffer, 0, read);
+        input.close();
+        return new String[]{Integer.toString(status), response.toString("UTF-8"),
+                connection.getHeaderField("X-Solve-Proven")};
+    }
+}
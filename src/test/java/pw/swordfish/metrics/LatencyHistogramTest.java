@@ -0,0 +1,52 @@
+package pw.swordfish.metrics;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class LatencyHistogramTest {
+    @Test
+    public void percentilesAreWithinABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100000; nanos++)
+            histogram.record(nanos * 1000);
+
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(100000000L, histogram.getMax());
+        assertWithin(50000000L, histogram.getPercentile(50));
+        assertWithin(99000000L, histogram.getPercentile(99));
+        Assert.assertEquals(histogram.getMax(), histogram.getPercentile(100));
+    }
+
+    @Test
+    public void emptyHistogramIsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(7);
+        histogram.reset();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(99));
+        Assert.assertEquals(0.0, histogram.getMean());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue(actual + " should be within 1/16th of " + expected,
+                actual >= expected && actual <= expected + expected / 16);
+    }
+}
@@ -0,0 +1,113 @@
+package pw.swordfish.parser;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.InputOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class OptionDispatcherTest {
+    private static final String[][] INPUTS = {
+            {"10/$1.00,5/$0.25", "2", "$5.00"},
+            {"B1", "10/$1.00,5/$0.25", "2", "$5.00"},
+            {"B2", "10/Red,5/Blue", "2", "$5.00"},
+            {"B1", "10/Red,5/Blue", "2", "$5.00"},
+            {"B2", "10/$1.00", "2", "$5.00"},
+            {"B3", "10/$1.00", "2", "$5.00"},
+            {"10/$1.00", "2"},
+            {"10/$1.00", "two", "$5.00"},
+            {"B1\r", "10/$1.00", "2", "$5.00"},
+            {"B10", "10/$1.00", "2", "$5.00"},
+            {"B1 ", "10/$1.00", "2", "$5.00"},
+            {},
+    };
+
+    @Test
+    public void classifiesLikeTryingEachSetInOrder() {
+        InputOptions options = new InputOptions();
+        OptionSet[] sets = {options.getDefaultSet(), options.getBonusOneSet(), options.getBonusTwoSet()};
+        for (String[] input : INPUTS) {
+            OptionSet expected = null;
+            for (OptionSet set : sets) {
+                if (set.tryParse(input)) {
+                    expected = set;
+                    break;
+                }
+            }
+
+            ParseResult result = options.parse(input);
+            Assert.assertEquals(expected == null, result == null);
+            if (expected == null)
+                continue;
+            Assert.assertTrue(result.isOf(expected));
+            for (Option option : expected)
+                Assert.assertEquals(option.getValue(), result.getValue(option));
+        }
+    }
+
+    @Test
+    public void literalsAreComparedLikeTheirRegex() {
+        Option literal = new OptionBuilder().createExact("B1");
+        Assert.assertEquals("B1", literal.getLiteral());
+        for (String input : new String[]{"B1", "B1\r", "B1\n", "B1\r\n", "B10", "B1 ", "B", "xB1", "B1\n\n", ""})
+            Assert.assertEquals(input, literal.regex.matcher(input).find() ? "B1" : null, literal.match(input));
+    }
+
+    @Test
+    public void parseDoesNotChangeTheOptions() {
+        InputOptions options = new InputOptions();
+        Assert.assertTrue(options.getDefaultSet().tryParse("10/$1.00", "2", "$5.00"));
+        ParseResult result = options.parse("B1", "20/$0.25", "3", "$2.50");
+
+        Assert.assertEquals("10/$1.00", options.getChips().getValue());
+        Assert.assertEquals("20/$0.25", result.getValue(options.getChips()));
+        Assert.assertFalse(result.hasValue(options.getColours()));
+    }
+
+    @Test
+    public void sharedBetweenThreads() throws Exception {
+        final InputOptions options = new InputOptions();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 2000; i++) {
+                final int people = i;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        ParseResult result = people % 2 == 0
+                                ? options.parse("10/$1.00", Integer.toString(people), "$5.00")
+                                : options.parse("B1", "10/$1.00", Integer.toString(people), "$5.00");
+                        return result.getValue(options.getPeople());
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++)
+                Assert.assertEquals(Integer.toString(i), results.get(i).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class AnytimeSolveTest {
+    // a single odd chip and multiples of 3 cents, the buy in leaves a remainder of
+    // 2 cents (mod 3) so there is no distribution but nothing can be pruned either
+    private static final String PATHOLOGICAL = "1/$0.01,1000000/$0.03,1000000/$0.06,1000000/$0.09," +
+            "1000000/$0.12,1000000/$0.15,1000000/$0.18,1000000/$0.21,1000000/$0.24,1000000/$0.27";
+    private static final String PRIMES =
+            "200/$0.97,200/$1.01,200/$1.03,200/$1.07,200/$1.09,200/$1.13,200/$1.27,200/$1.31,200/$1.37";
+
+    @Test
+    public void timedSolveIsProvenWhenThereIsTime() {
+        Random random = new Random(25);
+        for (Strategy strategy : Strategy.values()) {
+            ChipSolver solver = new ChipSolver(strategy, 2);
+            for (int test = 0; test < 50; test++) {
+                ChipRoll[] chips = new ChipRoll[1 + random.nextInt(5)];
+                for (int i = 0; i < chips.length; i++)
+                    chips[i] = new ChipRoll(1 + random.nextInt(40), BigDecimal.valueOf(1 + random.nextInt(400), 2));
+                Money buyIn = Money.ofCents(1 + random.nextInt(5000));
+
+                // the timeout can't pass, however slow the machine is
+                Solution expected = solver.solve(chips, 1, buyIn);
+                Solution actual = solver.solve(chips, 1, buyIn, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                Assert.assertTrue(actual.isProven());
+                Assert.assertEquals(expected.getDistribution(), actual.getDistribution());
+                Assert.assertEquals(actual.getChips(), actual.getUpperBound());
+
+                expected = solver.solveWithEveryDenomination(chips, 1, buyIn);
+                actual = solver.solveWithEveryDenomination(chips, 1, buyIn, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                Assert.assertTrue(actual.isProven());
+                Assert.assertEquals(expected.getDistribution(), actual.getDistribution());
+            }
+        }
+    }
+
+    @Test
+    public void pathologicalInputStopsAtTheTimeout() {
+        ChipRoll[] chips = new Parser().parseChipRolls(PATHOLOGICAL);
+        Dealer dealer = new Dealer(Strategy.BRANCH_AND_BOUND);
+        SolutionCache cache = new SolutionCache(4);
+        dealer.setCache(cache);
+
+        // the table is too large for the knapsack and the search
+        // checks the clock after the first 1024 nodes
+        Solution solution = dealer.maximumEqualChipDistributionWithin(chips, 1, Money.parse("$100000.02"),
+                0, TimeUnit.MILLISECONDS);
+
+        Assert.assertFalse(solution.isProven());
+        Assert.assertFalse(solution.isSolved());
+        Assert.assertTrue(solution.getUpperBound() > 0);
+        Assert.assertEquals(1024, dealer.getStats().getNodes());
+        // a distribution that ran out of time isn't the answer to the problem
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void timeoutKeepsTheBestDistributionFound() {
+        Inventory inventory = new Inventory(new Parser().parseChipRolls(PRIMES), 1);
+        SolveContext context = new SolveContext();
+        context.setTimeout(0);
+        int[] best = new BranchAndBoundSolver().solve(inventory, 99999, context);
+        int[] maximum = new BranchAndBoundSolver().solve(inventory, 99999);
+
+        Assert.assertFalse(context.proven);
+        Assert.assertNotNull(best);
+        Solution solution = new Solution(inventory, best, context.toStats(best), false, context.upperBound);
+        Solution proven = new Solution(inventory, maximum, new SolveStats(0, 0, 0, 0, false, 0, 0));
+        Assert.assertEquals(99999, solution.getDistribution().getTotal());
+        Assert.assertTrue(solution.getChips() <= proven.getChips());
+        Assert.assertTrue(solution.getUpperBound() >= proven.getChips());
+    }
+
+    @Test
+    public void everyDenominationBoundIncludesTheReservedChips() {
+        ChipRoll[] chips = new Parser().parseChipRolls(PRIMES);
+        Solution solution = new ChipSolver().solveWithEveryDenomination(chips, 1, Money.parse("$999.99"),
+                0, TimeUnit.MILLISECONDS);
+        Solution proven = new ChipSolver().solveWithEveryDenomination(chips, 1, Money.parse("$999.99"));
+
+        Assert.assertFalse(solution.isProven());
+        Assert.assertTrue(solution.getUpperBound() >= proven.getChips());
+        if (solution.isSolved())
+            Assert.assertEquals(99999, solution.getDistribution().getTotal());
+    }
+
+    @Test
+    public void knapsackStopsAtTheTimeout() {
+        Inventory inventory = new Inventory(new Parser().parseChipRolls("100/$0.05,100/$0.10,100/$0.25"), 1);
+        SolveContext context = new SolveContext();
+        context.setTimeout(0);
+        Assert.assertNull(new KnapsackSolver().solve(inventory, 1000, context));
+        Assert.assertFalse(context.proven);
+
+        context = new SolveContext();
+        Assert.assertNotNull(new KnapsackSolver().solve(inventory, 1000, context));
+        Assert.assertTrue(context.proven);
+    }
+
+    @Test
+    public void solversDoNotKeepTheTimeout() {
+        Inventory inventory = new Inventory(new Parser().parseChipRolls(PRIMES), 1);
+        BranchAndBoundSolver solver = new BranchAndBoundSolver();
+        SolveContext context = new SolveContext();
+        context.setTimeout(0);
+        solver.solve(inventory, 99999, context);
+        // the same solver searches everything once it is called without a timeout
+        Assert.assertEquals(967, new Solution(inventory, solver.solve(inventory, 99999),
+                new SolveStats(0, 0, 0, 0, false, 0, 0)).getChips());
+    }
+
+    @Test
+    public void upperBoundCantBeBelowTheChips() {
+        Inventory inventory = new Inventory(new Parser().parseChipRolls("10/$1.00"), 1);
+        SolveStats stats = new SolveStats(0, 0, 0, 0, false, 0, 2);
+        try {
+            new Solution(inventory, new int[]{2}, stats, false, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        Assert.assertEquals(2, new Solution(inventory, new int[]{2}, stats).getUpperBound());
+    }
+}
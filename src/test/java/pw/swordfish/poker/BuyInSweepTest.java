@@ -0,0 +1,63 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class BuyInSweepTest {
+    @Test
+    public void sweepMatchesSolvingEachBuyIn() {
+        Random random = new Random(19);
+        for (int test = 0; test < 30; test++) {
+            ChipRoll[] chips = new ChipRoll[1 + random.nextInt(5)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(random.nextInt(40), Money.ofCents(5 * (1 + random.nextInt(40))));
+            Inventory inventory = new Inventory(chips, 1 + random.nextInt(3));
+            Money maximum = Money.ofCents(random.nextInt(1500));
+
+            BuyInSweep sweep = new ChipSolver().sweep(inventory, maximum);
+            ChipSolver solver = new ChipSolver(Strategy.MEMOIZED);
+            for (long cents = 0; cents <= maximum.getCents(); cents++) {
+                Solution expected = solver.solve(inventory, Money.ofCents(cents));
+                Solution actual = sweep.getSolution(Money.ofCents(cents));
+
+                Assert.assertEquals(expected.isSolved() ? expected.getChips() : BuyInSweep.NO_SOLUTION,
+                        sweep.getChips(Money.ofCents(cents)));
+                Assert.assertTrue(Arrays.equals(expected.getQuantities(), actual.getQuantities()));
+            }
+        }
+    }
+
+    @Test
+    public void tournamentBuyInsShareOneTable() {
+        ChipRoll[] chips = new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00");
+        BuyInSweep sweep = new ChipSolver().sweep(chips, 10, Money.parse("$50.00"));
+
+        Assert.assertEquals(41, sweep.getChips(Money.parse("$10.00")));
+        Assert.assertEquals(1, sweep.getSolution(Money.parse("$10.00")).getQuantity(4));
+        Assert.assertEquals(BuyInSweep.NO_SOLUTION, sweep.getChips(Money.parse("$10.01")));
+        Assert.assertEquals(BuyInSweep.NO_SOLUTION, sweep.getChips(Money.parse("$50.00")));
+        Assert.assertFalse(sweep.getSolution(Money.parse("$50.00")).isSolved());
+    }
+}
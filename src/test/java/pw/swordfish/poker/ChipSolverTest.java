@@ -0,0 +1,198 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ChipSolverTest {
+    @Test
+    public void solutionKeepsTheStatisticsOfTheSolve() {
+        ChipSolver solver = new ChipSolver(Strategy.MEMOIZED);
+        Solution solution = solver.solve(new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00"), 10, Money.parse("$10.00"));
+
+        Assert.assertTrue(solution.isSolved());
+        Assert.assertEquals(1, (int) solution.toHashMap().get(new BigDecimal("1.00")));
+        Assert.assertTrue(solution.getStats().getCacheHits() > 0);
+        Assert.assertEquals(solution.getStats().getNodes(), solution.getStats().getCacheMisses());
+        Assert.assertFalse(solution.getStats().isCached());
+    }
+
+    @Test
+    public void unsolvedDistributionIsEmpty() {
+        Solution solution = new ChipSolver().solve(
+                new Parser().parseChipRolls("100/$0.25"), 2, Money.parse("$0.10"));
+
+        Assert.assertFalse(solution.isSolved());
+        Assert.assertNull(solution.getQuantities());
+        Assert.assertEquals(0, solution.getChips());
+        Assert.assertTrue(solution.toHashMap().isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void sharedSolverIsSafeAcrossThreads() throws Exception {
+        Random random = new Random(11);
+        final List<ChipRoll[]> cases = new ArrayList<ChipRoll[]>();
+        final List<Money> buyIns = new ArrayList<Money>();
+        for (int test = 0; test < 50; test++) {
+            ChipRoll[] chips = new ChipRoll[2 + random.nextInt(4)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(1 + random.nextInt(60), BigDecimal.valueOf(1 + random.nextInt(200), 2));
+            cases.add(chips);
+            buyIns.add(Money.ofCents(1 + random.nextInt(2000)));
+        }
+
+        for (Strategy strategy : Strategy.values()) {
+            final ChipSolver solver = new ChipSolver(strategy, 2).withCache(new SolutionCache(16));
+            List<HashMap<BigDecimal, Integer>> expected = new ArrayList<HashMap<BigDecimal, Integer>>();
+            for (int i = 0; i < cases.size(); i++)
+                expected.add(new Dealer().maximumEqualChipDistributionForBuyIn(cases.get(i), 2, buyIns.get(i)));
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<HashMap<BigDecimal, Integer>>> results = new ArrayList<Future<HashMap<BigDecimal, Integer>>>();
+                for (int round = 0; round < 4; round++) {
+                    for (int i = 0; i < cases.size(); i++) {
+                        final int index = i;
+                        results.add(executor.submit(new Callable<HashMap<BigDecimal, Integer>>() {
+                            @Override
+                            public HashMap<BigDecimal, Integer> call() {
+                                return solver.solve(cases.get(index), 2, buyIns.get(index)).toHashMap();
+                            }
+                        }));
+                    }
+                }
+                for (int i = 0; i < results.size(); i++)
+                    Assert.assertEquals(strategy.toString(), expected.get(i % cases.size()), results.get(i).get());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void everyDenominationMatchesBruteForce() {
+        Random random = new Random(13);
+        for (int test = 0; test < 200; test++) {
+            ChipRoll[] chips = new ChipRoll[1 + random.nextInt(4)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(random.nextInt(9), BigDecimal.valueOf(1 + random.nextInt(50), 2));
+            Inventory inventory = new Inventory(chips);
+            Money buyIn = Money.ofCents(1 + random.nextInt(200));
+            int[] expected = bruteForceWithEveryDenomination(inventory, buyIn.getCents());
+
+            for (Strategy strategy : Strategy.values()) {
+                Solution solution = new ChipSolver(strategy, 2).solveWithEveryDenomination(inventory, buyIn);
+                Assert.assertTrue(strategy.toString(), Arrays.equals(expected, solution.getQuantities()));
+            }
+        }
+    }
+
+    @Test
+    public void everyDenominationIsRejectedBeforeSearching() {
+        Parser parser = new Parser();
+        ChipSolver solver = new ChipSolver();
+
+        // not enough $5.00 chips for each person to get one
+        Solution solution = solver.solveWithEveryDenomination(
+                parser.parseChipRolls("100/$0.25,100/$1.00,1/$5.00"), 2, Money.parse("$20.00"));
+        Assert.assertFalse(solution.isSolved());
+        Assert.assertEquals(0, solution.getStats().getNodes());
+
+        // one of each is worth more than the buy in
+        solution = solver.solveWithEveryDenomination(
+                parser.parseChipRolls("100/$0.25,100/$1.00,100/$5.00"), 2, Money.parse("$6.00"));
+        Assert.assertFalse(solution.isSolved());
+        Assert.assertEquals(0, solution.getStats().getNodes());
+
+        solution = solver.solveWithEveryDenomination(
+                parser.parseChipRolls("100/$0.25,100/$1.00,100/$5.00"), 2, Money.parse("$6.25"));
+        Assert.assertEquals(3, solution.getChips());
+    }
+
+    @Test
+    public void dividedInventoryIsRejected() {
+        // the buy in is in cents, so it can't be compared with amounts in units of $0.25
+        Inventory divided = new Inventory(new Parser().parseChipRolls("100/$0.25,100/$1.00")).divide(25);
+        ChipSolver solver = new ChipSolver();
+        try {
+            solver.solve(divided, Money.parse("$5.00"));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            solver.solveWithEveryDenomination(divided, Money.parse("$5.00"));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tries every distribution with at least one of each denomination, keeping
+     * the one with the most chips and then the most of the smaller chips.
+     */
+    private static int[] bruteForceWithEveryDenomination(Inventory inventory, long buyIn) {
+        int[] best = null;
+        int bestChips = -1;
+        int[] current = new int[inventory.size()];
+        Arrays.fill(current, 1);
+        while (true) {
+            long total = 0;
+            int chips = 0;
+            for (int i = 0; i < current.length; i++) {
+                total += current[i] * inventory.getCents(i);
+                chips += current[i];
+            }
+            if (inventory.getMinimumQuantity() >= 1 && total == buyIn &&
+                    (chips > bestChips || chips == bestChips && lexicographicallyGreater(current, best))) {
+                best = current.clone();
+                bestChips = chips;
+            }
+            int i = 0;
+            while (i < current.length && current[i] >= inventory.getQuantity(i)) {
+                current[i] = 1;
+                i++;
+            }
+            if (i == current.length)
+                return best;
+            current[i]++;
+        }
+    }
+
+    private static boolean lexicographicallyGreater(int[] first, int[] second) {
+        for (int i = 0; i < first.length; i++)
+            if (first[i] != second[i])
+                return first[i] > second[i];
+        return false;
+    }
+}
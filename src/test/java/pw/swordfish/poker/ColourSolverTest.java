@@ -0,0 +1,110 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class ColourSolverTest {
+    @Test
+    public void colourAssignmentMatchesBruteForce() {
+        Random random = new Random(17);
+        Money[] denominations = {
+                Money.ofCents(5), Money.ofCents(10), Money.ofCents(25), Money.ofCents(50),
+                Money.ofCents(100), Money.ofCents(200)
+        };
+        ColourSolver solver = new ColourSolver(new ChipSolver(), 4, denominations);
+        for (int test = 0; test < 100; test++) {
+            ChipColour[] chips = new ChipColour[1 + random.nextInt(5)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipColour(random.nextInt(30), "C" + i);
+            Money buyIn = Money.ofCents(5 * (1 + random.nextInt(80)));
+            int people = 1 + random.nextInt(3);
+
+            ColourSolution solution = solver.solve(chips, people, buyIn);
+            int expected = bruteForce(chips, people, buyIn, denominations, 0, new boolean[denominations.length], new Money[chips.length]);
+            Assert.assertEquals(expected, solution.isSolved() ? solution.getChips() : -1);
+            if (solution.isSolved())
+                assertValid(solution, chips, people, buyIn);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void eightColoursAreSolved() {
+        ChipColour[] chips = new Parser().parseChipColours(
+                "500/Red,400/Blue,300/Green,300/Black,200/White,150/Yellow,100/Purple,50/Orange");
+        Money buyIn = Money.parse("$50.00");
+
+        ColourSolution solution = new ColourSolver().solve(chips, 10, buyIn);
+
+        Assert.assertTrue(solution.isSolved());
+        assertValid(solution, chips, 10, buyIn);
+        Assert.assertEquals(191, solution.getChips());
+    }
+
+    @Test
+    public void tooFewDenominationsHaveNoSolution() {
+        ColourSolver solver = new ColourSolver(new ChipSolver(), 1, Money.ofCents(25), Money.ofCents(100));
+        ChipColour[] chips = new Parser().parseChipColours("10/Red,10/Blue,10/Green");
+
+        Assert.assertFalse(solver.solve(chips, 1, Money.parse("$1.00")).isSolved());
+    }
+
+    private static void assertValid(ColourSolution solution, ChipColour[] chips, int people, Money buyIn) {
+        HashSet<Money> assigned = new HashSet<Money>();
+        long total = 0;
+        for (int i = 0; i < solution.size(); i++) {
+            Assert.assertTrue(assigned.add(solution.getDenomination(i)));
+            int available = 0;
+            for (ChipColour chip : chips)
+                if (chip.getColour().equals(solution.getColour(i)))
+                    available += chip.getQuantity() / people;
+            Assert.assertTrue(solution.getQuantity(i) <= available);
+            total += solution.getDenomination(i).getCents() * solution.getQuantity(i);
+        }
+        Assert.assertEquals(buyIn.getCents(), total);
+    }
+
+    /**
+     * Solves every assignment of distinct denominations to the colours.
+     */
+    private static int bruteForce(ChipColour[] chips, int people, Money buyIn, Money[] denominations,
+                                  int colour, boolean[] used, Money[] assignment) {
+        if (colour == chips.length) {
+            ChipRoll[] rolls = new ChipRoll[chips.length];
+            for (int i = 0; i < chips.length; i++)
+                rolls[i] = new ChipRoll(chips[i].getQuantity(), assignment[i]);
+            Solution solution = new ChipSolver().solve(rolls, people, buyIn);
+            return solution.isSolved() ? solution.getChips() : -1;
+        }
+        int best = -1;
+        for (int i = 0; i < denominations.length; i++) {
+            if (used[i])
+                continue;
+            used[i] = true;
+            assignment[colour] = denominations[i];
+            best = Math.max(best, bruteForce(chips, people, buyIn, denominations, colour + 1, used, assignment));
+            used[i] = false;
+        }
+        return best;
+    }
+}
@@ -3,8 +3,16 @@ package pw.swordfish.poker;
 import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import pw.swordfish.main.Parser;
 import pw.swordfish.main.Program;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is a a source file belonging to the solpoker project.
  * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
@@ -89,4 +97,219 @@ public class DealerTest {
         );
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void everyStrategyMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int test = 0; test < 200; test++) {
+            ChipRoll[] chips = new ChipRoll[1 + random.nextInt(4)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(random.nextInt(12), BigDecimal.valueOf(1 + random.nextInt(40), 2));
+            Inventory inventory = new Inventory(chips);
+            Money buyIn = Money.ofCents(1 + random.nextInt(200));
+
+            int[] expected = bruteForce(inventory, buyIn.getCents());
+            for (Strategy strategy : Strategy.values())
+                Assert.assertTrue(strategy.toString(), Arrays.equals(expected,
+                        new Dealer(strategy, 4).maximumEqualChipDistributionForBuyIn(inventory, buyIn)));
+        }
+    }
+
+    @Test
+    public void mostChipsAreFoundWhenTakingTheSmallestChipFirstFails() {
+        // taking the $0.02 first leaves $0.10 = 2 x $0.05, 3 chips,
+        // but 4 x $0.03 is 4 chips
+        Inventory inventory = new Inventory(new Parser().parseChipRolls("1/$0.02,4/$0.03,2/$0.05"));
+        for (Strategy strategy : Strategy.values()) {
+            int[] distribution = new Dealer(strategy, 4)
+                    .maximumEqualChipDistributionForBuyIn(inventory, Money.parse("$0.12"));
+            Assert.assertTrue(strategy.toString(), Arrays.equals(new int[]{0, 4, 0}, distribution));
+        }
+    }
+
+    @Test
+    public void memoizedSearchReusesSubproblems() {
+        Dealer dealer = new Dealer(Strategy.MEMOIZED);
+        ChipRoll[] chips = new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00");
+        for (int i = 0; i < 2; i++) {
+            HashMap<BigDecimal, Integer> distribution =
+                    dealer.maximumEqualChipDistributionForBuyIn(chips, 10, new BigDecimal("10.00"));
+
+            Assert.assertEquals(1, (int) distribution.get(new BigDecimal("1.00")));
+            Assert.assertTrue(dealer.getCacheHits() > 0);
+            Assert.assertEquals(dealer.getCalls(), dealer.getCacheMisses());
+        }
+    }
+
+    @Test
+    public void exhaustiveSearchOnlySearchesOnce() {
+        // the bundles are 1 and 2 chips, the search expands (bundle 0, 3 cents),
+        // (bundle 1, 2 cents) and (bundle 1, 3 cents) and nothing else
+        Dealer dealer = new Dealer(Strategy.EXHAUSTIVE);
+        HashMap<BigDecimal, Integer> distribution = dealer.maximumEqualChipDistributionForBuyIn(
+                new Parser().parseChipRolls("3/$0.01"), 1, Money.parse("$0.03"));
+
+        Assert.assertEquals(3, (int) distribution.get(new BigDecimal("0.01")));
+        Assert.assertEquals(3, dealer.getCalls());
+    }
+
+    @Test
+    public void memoTableIsReusedBetweenSolves() {
+        Dealer dealer = new Dealer(Strategy.MEMOIZED);
+        MemoTable memo = dealer.getMemo();
+        ChipRoll[] chips = new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00");
+
+        dealer.maximumEqualChipDistributionForBuyIn(chips, 10, Money.parse("$10.00"));
+        Assert.assertSame(memo, dealer.getMemo());
+        Assert.assertEquals(dealer.getCacheMisses(), memo.size());
+
+        dealer.maximumEqualChipDistributionForBuyIn(chips, 5, Money.parse("$7.50"));
+        Assert.assertSame(memo, dealer.getMemo());
+        // the table is cleared for each solve, not replaced
+        Assert.assertEquals(dealer.getCacheMisses(), memo.size());
+        Assert.assertNull(new Dealer().getMemo());
+    }
+
+    @Test
+    public void memoTableIsReusedBetweenTimedSolves() {
+        Dealer dealer = new Dealer(Strategy.MEMOIZED);
+        MemoTable memo = dealer.getMemo();
+        ChipRoll[] chips = new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00");
+
+        for (int i = 0; i < 2; i++) {
+            Solution solution = dealer.maximumEqualChipDistributionWithin(chips, 10, Money.parse("$10.00"),
+                    Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            Assert.assertTrue(solution.isProven());
+            Assert.assertSame(memo, dealer.getMemo());
+
+            // and an untimed solve after it still fills the same table
+            dealer.maximumEqualChipDistributionForBuyIn(chips, 10, Money.parse("$10.00"));
+            Assert.assertSame(memo, dealer.getMemo());
+            Assert.assertEquals(dealer.getCacheMisses(), memo.size());
+        }
+    }
+
+    @Test
+    public void buyInThatIsNotAMultipleOfTheDenominationsIsRejected() {
+        for (Strategy strategy : Strategy.values()) {
+            Dealer dealer = new Dealer(strategy);
+            ChipRoll[] chips = new Parser().parseChipRolls("100/$0.25,100/$1.00,100/$5.00");
+
+            Assert.assertTrue(dealer.maximumEqualChipDistributionForBuyIn(
+                    chips, 2, new BigDecimal("20.10")).isEmpty());
+            Assert.assertEquals(0, dealer.getCalls());
+            Assert.assertEquals(48, (int) dealer.maximumEqualChipDistributionForBuyIn(
+                    chips, 2, new BigDecimal("20.00")).get(new BigDecimal("0.25")));
+        }
+    }
+
+    @Test
+    public void parallelMatchesKnapsackOnLargeInventories() {
+        Random random = new Random(7);
+        Dealer parallel = new Dealer(Strategy.PARALLEL, 4);
+        Dealer knapsack = new Dealer();
+        for (int test = 0; test < 20; test++) {
+            ChipRoll[] chips = new ChipRoll[4 + random.nextInt(4)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(50 + random.nextInt(200), BigDecimal.valueOf(1 + random.nextInt(400), 2));
+            BigDecimal buyIn = BigDecimal.valueOf(500 + random.nextInt(5000), 2);
+
+            Assert.assertEquals(
+                    knapsack.maximumEqualChipDistributionForBuyIn(chips, 2, buyIn),
+                    parallel.maximumEqualChipDistributionForBuyIn(chips, 2, buyIn));
+        }
+    }
+
+    @Test
+    public void cachedSolutionsAreSharedBetweenEquivalentProblems() {
+        SolutionCache cache = new SolutionCache(2);
+        Dealer dealer = new Dealer();
+        dealer.setCache(cache);
+        Parser parser = new Parser();
+
+        HashMap<BigDecimal, Integer> expected = dealer.maximumEqualChipDistributionForBuyIn(
+                parser.parseChipRolls("100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00"),
+                10, new BigDecimal("10.00"));
+        // the same problem with the rolls out of order, split up and with
+        // left over chips that can't be shared between the people
+        HashMap<BigDecimal, Integer> actual = dealer.maximumEqualChipDistributionForBuyIn(
+                parser.parseChipRolls("59/$2.00,50/$1.00,100/$0.50,100/$0.25,100/$0.10,50/$0.05,50/$0.05"),
+                10, new BigDecimal("10.00"));
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+
+        dealer.maximumEqualChipDistributionForBuyIn(parser.parseChipRolls("10/$1.00"), 1, new BigDecimal("5"));
+        dealer.maximumEqualChipDistributionForBuyIn(parser.parseChipRolls("10/$1.00"), 1, new BigDecimal("6"));
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test(timeout = 5000)
+    public void largeBuyInKnapsackDistribution() {
+        ChipRoll[] chips = {
+                new ChipRoll(2000, new BigDecimal("0.25")),
+                new ChipRoll(2000, new BigDecimal("1.00")),
+                new ChipRoll(2000, new BigDecimal("5.00")),
+                new ChipRoll(1000, new BigDecimal("25.00")),
+                new ChipRoll(1000, new BigDecimal("100.00"))
+        };
+        BigDecimal buyIn = new BigDecimal("5000.00");
+        HashMap<BigDecimal, Integer> distribution = new Dealer()
+                .maximumEqualChipDistributionForBuyIn(chips, 4, buyIn);
+
+        Assert.assertEquals(0, buyIn.compareTo(total(distribution)));
+        Assert.assertEquals(500, (int) distribution.get(new BigDecimal("0.25")));
+        Assert.assertEquals(500, (int) distribution.get(new BigDecimal("1.00")));
+        Assert.assertEquals(500, (int) distribution.get(new BigDecimal("5.00")));
+    }
+
+    /**
+     * Finds the distribution with the most chips by trying every quantity of
+     * every denomination, ties go to more chips of the smallest denomination,
+     * then of the next smallest and so on.
+     */
+    private static int[] bruteForce(Inventory inventory, long buyIn) {
+        int[] best = null;
+        int bestChips = -1;
+        int[] quantities = new int[inventory.size()];
+        while (true) {
+            long total = 0;
+            int chips = 0;
+            for (int i = 0; i < quantities.length; i++) {
+                total += inventory.getCents(i) * quantities[i];
+                chips += quantities[i];
+            }
+            if (total == buyIn && (chips > bestChips || (chips == bestChips && moreOfTheSmallest(quantities, best)))) {
+                best = quantities.clone();
+                bestChips = chips;
+            }
+
+            // count up through every quantity vector like an odometer
+            int i = 0;
+            while (i < quantities.length && quantities[i] == inventory.getQuantity(i))
+                quantities[i++] = 0;
+            if (i == quantities.length)
+                return best;
+            quantities[i]++;
+        }
+    }
+
+    private static boolean moreOfTheSmallest(int[] quantities, int[] best) {
+        for (int i = 0; i < quantities.length; i++)
+            if (quantities[i] != best[i])
+                return quantities[i] > best[i];
+        return false;
+    }
+
+    private static BigDecimal total(HashMap<BigDecimal, Integer> distribution) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<BigDecimal, Integer> chip : distribution.entrySet())
+            total = total.add(chip.getKey().multiply(BigDecimal.valueOf(chip.getValue())));
+        return total;
+    }
 }
@@ -0,0 +1,112 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class DistributionTest {
+    @Test
+    public void rendersFromTheLargestDenomination() {
+        Distribution distribution = Distribution.of(new long[]{5, 100, 2550}, new int[]{3, 0, 12});
+
+        Assert.assertEquals("$25.50 - 12\n$1.00 - 0\n$0.05 - 3", distribution.toString());
+        Assert.assertEquals(15, distribution.getChips());
+        Assert.assertEquals(30615, distribution.getTotal());
+        Assert.assertEquals(12, distribution.getCountOf(2550));
+        Assert.assertEquals(0, distribution.getCountOf(10));
+        Assert.assertEquals("", Distribution.EMPTY.toString());
+    }
+
+    @Test
+    public void rendersTheScaleOfEachDenomination() {
+        int[] scales = {0, 1, 2, 3, 5};
+        for (long cents : new long[]{100, 150, 25, 1000000, 1234500})
+            for (int scale : scales) {
+                if (scale < 2 && cents % (scale == 0 ? 100 : 10) != 0)
+                    continue;
+                Distribution distribution = Distribution.of(new long[]{cents}, new int[]{42}, new int[]{scale});
+                Assert.assertEquals("$" + BigDecimal.valueOf(cents, 2).setScale(scale) + " - 42",
+                        distribution.toString());
+            }
+        Assert.assertEquals("$1 - 0", Distribution.of(new long[]{100}, new int[]{0}, new int[]{0}).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scaleThatRoundsIsRejected() {
+        Distribution.of(new long[]{150}, new int[]{1}, new int[]{0});
+    }
+
+    @Test
+    public void renderingDoesNotAllocate() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Solution solution = new ChipSolver().solve(new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00"), 10, Money.parse("$10.00"));
+        Distribution distribution = solution.getDistribution();
+        StringBuilder out = new StringBuilder(1 << 16);
+        for (int pass = 0; pass < 2; pass++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 10000; i++) {
+                out.setLength(0);
+                distribution.appendTo(out);
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (pass == 1)
+                // a string for each number of each line would be megabytes
+                Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 16 * 1024);
+        }
+        Assert.assertEquals(distribution.toString(), out.toString());
+    }
+
+    @Test
+    public void mapViewMatchesTheHashMap() {
+        ChipRoll[] chips = new Parser().parseChipRolls(
+                "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00");
+        Solution solution = new ChipSolver().solve(chips, 10, Money.parse("$10.00"));
+        Map<BigDecimal, Integer> map = solution.getDistribution().asMap();
+
+        Assert.assertEquals(solution.toHashMap(), map);
+        Assert.assertEquals(solution.toHashMap().hashCode(), map.hashCode());
+        Assert.assertEquals(1, (int) map.get(new BigDecimal("1")));
+        Assert.assertEquals(1, (int) map.get(new BigDecimal("1.000")));
+        Assert.assertNull(map.get(new BigDecimal("1.001")));
+        Assert.assertNull(map.get("1.00"));
+        Assert.assertEquals(solution.getChips(), solution.getDistribution().getChips());
+        Assert.assertEquals(1000, solution.getDistribution().getTotal());
+    }
+
+    @Test
+    public void unsolvedIsEmpty() {
+        Solution solution = new ChipSolver().solve(new Parser().parseChipRolls("10/$1.00"), 2, Money.parse("$5.50"));
+
+        Assert.assertSame(Distribution.EMPTY, solution.getDistribution());
+        Assert.assertTrue(solution.getDistribution().asMap().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedDenominationsAreRejected() {
+        Distribution.of(new long[]{100, 5}, new int[]{1, 1});
+    }
+}
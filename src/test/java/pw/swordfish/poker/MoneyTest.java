@@ -0,0 +1,54 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class MoneyTest {
+    @Test
+    public void parseDollarAmounts() {
+        Assert.assertEquals(1000, Money.parse("$10.00").getCents());
+        Assert.assertEquals(1050, Money.parse("10.5").getCents());
+        Assert.assertEquals(10600, Money.parse("106").getCents());
+        Assert.assertEquals(25, Money.parse("$.25").getCents());
+        Assert.assertEquals(700, Money.parse("7.000").getCents());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void parseFractionOfACent() {
+        Money.parse("$0.001");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parseIllegalAmount() {
+        Money.parse("$1.2.3");
+    }
+
+    @Test
+    public void bigDecimalRoundTrip() {
+        Money money = Money.valueOf(new BigDecimal("17.15"));
+        Assert.assertEquals(1715, money.getCents());
+        Assert.assertEquals(0, new BigDecimal("17.15").compareTo(money.toBigDecimal()));
+        Assert.assertEquals("$17.15", money.toString());
+    }
+}
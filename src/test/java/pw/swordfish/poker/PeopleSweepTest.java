@@ -0,0 +1,72 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class PeopleSweepTest {
+    @Test
+    public void sweepMatchesSolvingEachNumberOfPeople() {
+        Random random = new Random(23);
+        for (int test = 0; test < 40; test++) {
+            ChipRoll[] chips = new ChipRoll[1 + random.nextInt(5)];
+            for (int i = 0; i < chips.length; i++)
+                chips[i] = new ChipRoll(random.nextInt(120), Money.ofCents(5 * (1 + random.nextInt(40))));
+            Money buyIn = Money.ofCents(5 * random.nextInt(200));
+
+            PeopleSweep sweep = new ChipSolver().sweepPeople(chips, 1, 12, buyIn);
+            ChipSolver solver = new ChipSolver(Strategy.MEMOIZED);
+            for (int people = 1; people <= 12; people++) {
+                Solution expected = solver.solve(chips, people, buyIn);
+                Solution actual = sweep.getSolution(people);
+
+                Assert.assertEquals(expected.isSolved() ? expected.getChips() : PeopleSweep.NO_SOLUTION,
+                        sweep.getChips(people));
+                Assert.assertTrue(Arrays.equals(expected.getQuantities(), actual.getQuantities()));
+            }
+        }
+    }
+
+    @Test
+    public void peopleBetweenBreakpointsShareAFill() {
+        ChipRoll[] chips = new Parser().parseChipRolls("20/$0.25,20/$1.00,20/$5.00");
+        PeopleSweep sweep = new ChipSolver().sweepPeople(chips, 11, 20, Money.parse("$6.25"));
+
+        // every person gets one chip of each denomination from 11 to 20 people
+        Assert.assertEquals(1, sweep.getFills());
+        Assert.assertEquals(11, sweep.getMinimumPeople());
+        Assert.assertEquals(20, sweep.getMaximumPeople());
+        for (int people = 11; people <= 20; people++)
+            Assert.assertEquals(3, sweep.getChips(people));
+    }
+
+    @Test
+    public void buyInThatIsNotAMultipleHasNoSolution() {
+        ChipRoll[] chips = new Parser().parseChipRolls("100/$0.25,100/$1.00");
+        PeopleSweep sweep = new ChipSolver().sweepPeople(chips, 1, 5, Money.parse("$1.10"));
+
+        Assert.assertEquals(0, sweep.getFills());
+        for (int people = 1; people <= 5; people++)
+            Assert.assertFalse(sweep.getSolution(people).isSolved());
+    }
+}
@@ -0,0 +1,86 @@
+package pw.swordfish.poker;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import pw.swordfish.main.Parser;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This is a a source file belonging to the solpoker project.
+ * Copyright (c) 2013 Brandon Koepke <bdkoepke@gmail.com>
+ * <p/>
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p/>
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * <p/>
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+public class SolverMetricsTest {
+    private static final String CHIPS = "100/$0.05,100/$0.10,100/$0.25,100/$0.50,50/$1.00,50/$2.00";
+
+    @Test
+    public void solvesAreAddedToTheTotals() {
+        SolverMetrics metrics = new SolverMetrics();
+        ChipSolver solver = new ChipSolver(Strategy.BRANCH_AND_BOUND).withMetrics(metrics);
+        ChipRoll[] chips = new Parser().parseChipRolls(CHIPS);
+
+        Solution solved = solver.solve(chips, 10, Money.parse("$10.00"));
+        Solution unsolved = solver.solve(chips, 10, Money.parse("$10.01"));
+
+        Assert.assertEquals(41, solved.getStats().getChips());
+        Assert.assertTrue(solved.getStats().getElapsedNanos() > 0);
+        Assert.assertEquals(0, unsolved.getStats().getChips());
+        Assert.assertEquals(2, metrics.getSolves());
+        Assert.assertEquals(1, metrics.getSolved());
+        Assert.assertEquals(41, metrics.getChips());
+        Assert.assertEquals(solved.getStats().getNodes() + unsolved.getStats().getNodes(), metrics.getNodes());
+        Assert.assertEquals(solved.getStats().getPrunes() + unsolved.getStats().getPrunes(), metrics.getPrunes());
+        Assert.assertEquals(2, metrics.getLatency().getCount());
+
+        metrics.reset();
+        Assert.assertEquals(0, metrics.getSolves());
+        Assert.assertEquals(0, metrics.getLatencyP99Micros());
+    }
+
+    @Test
+    public void cachedSolvesAreCounted() {
+        SolverMetrics metrics = new SolverMetrics();
+        ChipSolver solver = new ChipSolver().withCache(new SolutionCache(4)).withMetrics(metrics);
+        ChipRoll[] chips = new Parser().parseChipRolls(CHIPS);
+
+        solver.solve(chips, 10, Money.parse("$10.00"));
+        Solution cached = solver.solve(chips, 10, Money.parse("$10.00"));
+
+        Assert.assertTrue(cached.getStats().isCached());
+        Assert.assertEquals(1, metrics.getCachedSolves());
+        Assert.assertEquals(2, metrics.getSolved());
+    }
+
+    @Test
+    public void metricsArePublishedAsAnMBean() throws Exception {
+        SolverMetrics metrics = new SolverMetrics();
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            new ChipSolver().withMetrics(metrics).solve(
+                    new Parser().parseChipRolls(CHIPS), 10, Money.parse("$10.00"));
+
+            Assert.assertEquals(1L, server.getAttribute(name, "Solves"));
+            Assert.assertEquals(41L, server.getAttribute(name, "Chips"));
+            server.invoke(name, "reset", null, null);
+            Assert.assertEquals(0L, server.getAttribute(name, "Solves"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}